@@ -0,0 +1,93 @@
+package com.example.todoappjavafx.bench;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files (see {@link BenchmarkRunner}), benchmark by benchmark.
+ *
+ * Prints the score and, when recorded, the allocation per operation of both runs,
+ * and marks changes for the worse beyond the threshold (default 10%). Exits with
+ * status 1 if there are any, so it can gate a build.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.example.todoappjavafx.bench.BenchmarkCompare jmh-results/1.0.json jmh-results/1.1.json [threshold%]
+ * </pre>
+ */
+public final class BenchmarkCompare {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private BenchmarkCompare() {
+    }
+
+    private record Result(String mode, double score, double allocated) {
+        boolean higherIsBetter() {
+            return mode.equals("thrpt");
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkCompare <baseline.json> <current.json> [threshold%]");
+            System.exit(2);
+        }
+        Map<String, Result> baseline = read(Path.of(args[0]));
+        Map<String, Result> current = read(Path.of(args[1]));
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) / 100 : 0.10;
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %8s %12s %12s%n", "benchmark", "baseline", "current", "change", "B/op before", "B/op after");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %8s%n", entry.getKey(), "-", now.score(), "new");
+                continue;
+            }
+            double change = (now.score() - before.score()) / before.score();
+            boolean worse = now.higherIsBetter() ? change < -threshold : change > threshold;
+            boolean allocatesMore = before.allocated() > 0 && now.allocated() > before.allocated() * (1 + threshold);
+            if (worse || allocatesMore) regressions++;
+            System.out.printf("%-70s %14.3f %14.3f %+7.1f%% %12.0f %12.0f %s%n", entry.getKey(),
+                    before.score(), now.score(), change * 100, before.allocated(), now.allocated(),
+                    worse || allocatesMore ? "<< REGRESSION" : "");
+        }
+        System.out.printf("%d regression(s) beyond %.0f%%%n", regressions, threshold * 100);
+        if (regressions > 0) System.exit(1);
+    }
+
+    /** Results keyed by benchmark name and parameters, e.g. {@code RepositoryBenchmark.findAll [store=JSON, taskCount=1000]}. */
+    private static Map<String, Result> read(Path file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            for (JsonElement element : JsonParser.parseReader(reader).getAsJsonArray()) {
+                JsonObject run = element.getAsJsonObject();
+                String name = run.get("benchmark").getAsString();
+                name = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+                if (run.has("params")) {
+                    Map<String, String> params = new TreeMap<>();
+                    run.getAsJsonObject("params").entrySet()
+                            .forEach(param -> params.put(param.getKey(), param.getValue().getAsString()));
+                    name += " " + params;
+                }
+                JsonObject primary = run.getAsJsonObject("primaryMetric");
+                JsonObject secondary = run.has("secondaryMetrics") ? run.getAsJsonObject("secondaryMetrics") : new JsonObject();
+                double allocated = secondary.has(ALLOCATION)
+                        ? secondary.getAsJsonObject(ALLOCATION).get("score").getAsDouble() : 0;
+                results.put(name, new Result(run.get("mode").getAsString(),
+                        primary.get("score").getAsDouble(), allocated));
+            }
+        }
+        return results;
+    }
+}
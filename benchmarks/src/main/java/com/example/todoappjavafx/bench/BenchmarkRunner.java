@@ -0,0 +1,49 @@
+package com.example.todoappjavafx.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Runs the JMH benchmarks with the settings used for tracking results between versions:
+ * the GC profiler (allocation rate per operation) and JSON results in {@code jmh-results/}.
+ *
+ * Takes the usual JMH command line; {@code -prof} or {@code -rff} given there win.
+ * The result file is named after {@code -Dbench.label} (e.g. the version), or the time of the run.
+ *
+ * <pre>
+ * java -Dbench.label=1.1 -cp target/benchmarks.jar com.example.todoappjavafx.bench.BenchmarkRunner Repository -p taskCount=100000
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+    private static final Path RESULTS = Path.of("jmh-results");
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+
+        if (commandLine.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            String label = System.getProperty("bench.label",
+                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+            Files.createDirectories(RESULTS);
+            options.resultFormat(ResultFormatType.JSON).result(RESULTS.resolve(label + ".json").toString());
+        }
+
+        new Runner(options.build()).run();
+    }
+}
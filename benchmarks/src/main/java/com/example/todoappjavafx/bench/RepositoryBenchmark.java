@@ -0,0 +1,139 @@
+package com.example.todoappjavafx.bench;
+
+import com.example.todoappjavafx.model.Priority;
+import com.example.todoappjavafx.model.Task;
+import com.example.todoappjavafx.repository.Durability;
+import com.example.todoappjavafx.repository.Repository;
+import com.example.todoappjavafx.repository.StoreType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Every {@link Repository} operation of each store, as the store grows.
+ *
+ * Stores are opened through {@link StoreType} on a temporary copy of
+ * {@code taskCount} generated tasks. Writes leave the size unchanged
+ * ({@code saveThenDelete} removes what it adds), so later iterations measure
+ * the same store. {@code durability} defaults to NONE so the numbers show the
+ * stores' own cost rather than the disk's flush latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    @Param({"JSON", "JOURNAL", "BINARY", "MAPPED", "SQL"})
+    public StoreType store;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int taskCount;
+
+    @Param({"NONE"})
+    public Durability durability;
+
+    private Path directory;
+    private String dataFile;
+    private String openFile; // A closed copy for open(), separate from the store the other benchmarks use
+    private Repository<Task> repository;
+    private List<Task> tasks;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        System.setProperty(Durability.PROPERTY, durability.name());
+        directory = Files.createTempDirectory("todo-bench");
+        dataFile = directory.resolve("tasks.json").toString();
+        tasks = TaskFixtures.generate(taskCount, 42);
+        repository = store.open(dataFile);
+        repository.saveAll(tasks);
+
+        openFile = Files.createDirectory(directory.resolve("open")).resolve("tasks.json").toString();
+        Repository<Task> copy = store.open(openFile);
+        copy.saveAll(tasks);
+        close(copy);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        close(repository);
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /** Cycles through the stored tasks, so lookups and updates do not hit one hot entry. */
+    private Task nextTask() {
+        Task task = tasks.get(next);
+        next = next + 1 == tasks.size() ? 0 : next + 1;
+        return task;
+    }
+
+    @Benchmark
+    public Optional<Task> findById() {
+        return repository.findById(nextTask().getId());
+    }
+
+    @Benchmark
+    public List<Task> findAll() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public List<Task> findPage() {
+        return repository.findPage(taskCount / 2, 50);
+    }
+
+    @Benchmark
+    public Task update() {
+        Task task = nextTask();
+        task.setCompleted(!task.isCompleted());
+        repository.update(task);
+        return task;
+    }
+
+    @Benchmark
+    public Task saveThenDelete() {
+        Task task = new Task("benchmark task", "added and removed again", Priority.MEDIUM, null);
+        repository.save(task);
+        repository.delete(task.getId());
+        return task;
+    }
+
+    /** Startup cost: opening the store and reading every task. */
+    @Benchmark
+    public int open() throws Exception {
+        Repository<Task> reopened = store.open(openFile);
+        try {
+            return reopened.findAll().size();
+        } finally {
+            close(reopened);
+        }
+    }
+
+    private static void close(Repository<Task> repository) throws Exception {
+        if (repository instanceof AutoCloseable closeable) closeable.close();
+    }
+}
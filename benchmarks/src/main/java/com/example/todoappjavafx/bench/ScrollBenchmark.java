@@ -0,0 +1,164 @@
+package com.example.todoappjavafx.bench;
+
+import com.example.todoappjavafx.MainApp;
+import com.example.todoappjavafx.model.Task;
+import com.example.todoappjavafx.view.TaskListCell;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.scene.Scene;
+import javafx.scene.control.IndexedCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.skin.VirtualFlow;
+import javafx.stage.Stage;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Scroll benchmark for the task list (not a JMH benchmark: it needs a running FX toolkit).
+ *
+ * Shows {@code --rows} generated tasks (default 100,000) in a ListView with the
+ * app's cells and theme, scrolls it by {@code --pixels} per frame for
+ * {@code --seconds} after a warm-up, then prints frame time percentiles, the
+ * allocation rate of the FX thread and GC activity during the run.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.example.todoappjavafx.bench.ScrollBenchmark --rows=100000 --seconds=10
+ * </pre>
+ */
+public final class ScrollBenchmark {
+
+    private ScrollBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        // Launched through a nested class so the JavaFX launcher check does not apply to the main class
+        Application.launch(App.class, args);
+    }
+
+    public static class App extends Application {
+
+        private static final double FRAME_BUDGET_MILLIS = 1000.0 / 60;
+
+        private int rows;
+        private double pixelsPerFrame;
+        private long warmupNanos;
+        private long measureNanos;
+
+        @Override
+        public void start(Stage stage) {
+            Map<String, String> named = getParameters().getNamed();
+            rows = Integer.parseInt(named.getOrDefault("rows", "100000"));
+            pixelsPerFrame = Double.parseDouble(named.getOrDefault("pixels", "40"));
+            warmupNanos = (long) (Double.parseDouble(named.getOrDefault("warmup", "3")) * 1e9);
+            measureNanos = (long) (Double.parseDouble(named.getOrDefault("seconds", "10")) * 1e9);
+
+            List<Task> tasks = TaskFixtures.generate(rows, 42);
+            ListView<Task> list = new ListView<>(FXCollections.observableArrayList(tasks));
+            list.getStyleClass().add("task-list");
+            // Cells only use the service and the form when a button is clicked
+            list.setCellFactory(view -> new TaskListCell(null, null));
+
+            Scene scene = new Scene(list, 720, 800);
+            scene.getStylesheets().add(Objects.requireNonNull(
+                    MainApp.class.getResource("styles/light-theme.css")).toExternalForm());
+            stage.setTitle("Scroll benchmark (" + rows + " rows)");
+            stage.setScene(scene);
+            stage.show();
+
+            new Scroller(list).start();
+        }
+
+        /** Scrolls one step per pulse and records how long each frame took. */
+        private final class Scroller extends AnimationTimer {
+            private final ListView<Task> list;
+            private VirtualFlow<?> flow;
+            private final long[] frames = new long[100_000];
+            private int frameCount;
+            private long started;
+            private long measureStart;
+            private long previous;
+            private long allocatedAtStart;
+            private long gcCountAtStart;
+            private long gcMillisAtStart;
+
+            Scroller(ListView<Task> list) {
+                this.list = list;
+            }
+
+            @Override
+            public void handle(long now) {
+                if (flow == null) {
+                    flow = (VirtualFlow<?>) list.lookup(".virtual-flow"); // There once the skin is laid out
+                    if (flow == null) return;
+                }
+                if (started == 0) started = now;
+
+                if (measureStart == 0 && now - started >= warmupNanos) {
+                    measureStart = now;
+                    allocatedAtStart = allocatedBytes();
+                    gcCountAtStart = gcCount();
+                    gcMillisAtStart = gcMillis();
+                } else if (measureStart != 0 && frameCount < frames.length) {
+                    frames[frameCount++] = now - previous;
+                }
+                previous = now;
+
+                if (measureStart != 0 && now - measureStart >= measureNanos) {
+                    stop();
+                    report(now - measureStart);
+                    Platform.exit();
+                    return;
+                }
+
+                IndexedCell<?> last = flow.getLastVisibleCell();
+                if (last != null && last.getIndex() >= rows - 1) {
+                    flow.scrollTo(0); // Wrap around and keep scrolling
+                } else {
+                    flow.scrollPixels(pixelsPerFrame);
+                }
+            }
+
+            private void report(long elapsedNanos) {
+                long allocated = allocatedBytes() - allocatedAtStart;
+                long[] sorted = Arrays.copyOf(frames, frameCount);
+                Arrays.sort(sorted);
+                long janky = Arrays.stream(sorted).filter(frame -> frame / 1e6 > FRAME_BUDGET_MILLIS * 1.5).count();
+                double seconds = elapsedNanos / 1e9;
+
+                System.out.printf("rows=%d frames=%d (%.1f fps)%n", rows, frameCount, frameCount / seconds);
+                System.out.printf("frame ms: p50=%.2f p95=%.2f p99=%.2f max=%.2f, over 1.5x budget=%d%n",
+                        percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                        sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6, janky);
+                System.out.printf("FX thread allocation: %.1f MB/s, %.1f KB/frame%n",
+                        allocated / 1e6 / seconds, frameCount == 0 ? 0 : allocated / 1e3 / frameCount);
+                System.out.printf("GC: %d collections, %d ms%n", gcCount() - gcCountAtStart, gcMillis() - gcMillisAtStart);
+            }
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) return 0;
+            return sorted[Math.min(sorted.length - 1, (int) (p * sorted.length))] / 1e6;
+        }
+
+        private static long allocatedBytes() {
+            return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+        }
+
+        private static long gcCount() {
+            return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                    .mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+        }
+
+        private static long gcMillis() {
+            return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                    .mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.todoappjavafx.bench;
+
+import com.example.todoappjavafx.model.Priority;
+import com.example.todoappjavafx.model.Task;
+import com.example.todoappjavafx.model.TaskPage;
+import com.example.todoappjavafx.repository.IndexedTaskRepository;
+import com.example.todoappjavafx.repository.Repository;
+import com.example.todoappjavafx.repository.TaskSearchIndex;
+import com.example.todoappjavafx.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter, search and progress latency of {@link TaskService}, with the indexed
+ * repository the app uses and with a plain in-memory one the service has to scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ServiceQueryBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int taskCount;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    private TaskService service;
+
+    @Setup
+    public void setUp() {
+        Repository<Task> repository = new InMemoryRepository();
+        repository.saveAll(TaskFixtures.generate(taskCount, 42));
+        if (indexed) repository = new IndexedTaskRepository(repository, new TaskSearchIndex());
+        service = new TaskService(repository);
+    }
+
+    @Benchmark
+    public List<Task> filterByPriority() {
+        return service.filterByPriority(Priority.HIGH);
+    }
+
+    @Benchmark
+    public double completionProgress() {
+        return service.getCompletionProgress();
+    }
+
+    /** Two common words: a broad result. */
+    @Benchmark
+    public List<Task> searchBroad() {
+        return service.searchTasks("budget report");
+    }
+
+    /** A prefix of a rarer combination, like a user still typing. */
+    @Benchmark
+    public List<Task> searchNarrow() {
+        return service.searchTasks("invoice deploy wee");
+    }
+
+    @Benchmark
+    public List<Task> overdue() {
+        return service.getOverdueTasks();
+    }
+
+    @Benchmark
+    public TaskPage pageMiddle() {
+        return service.findPage(null, null, taskCount / 2, 200);
+    }
+
+    /** The store without indexes, as the service sees the file-backed repositories. */
+    private static final class InMemoryRepository implements Repository<Task> {
+        private final Map<String, Task> tasks = new LinkedHashMap<>();
+
+        @Override
+        public void save(Task task) {
+            tasks.put(task.getId(), task);
+        }
+
+        @Override
+        public void update(Task task) {
+            tasks.replace(task.getId(), task);
+        }
+
+        @Override
+        public void delete(String id) {
+            tasks.remove(id);
+        }
+
+        @Override
+        public Optional<Task> findById(String id) {
+            return Optional.ofNullable(tasks.get(id));
+        }
+
+        @Override
+        public List<Task> findAll() {
+            return new ArrayList<>(tasks.values());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.todoappjavafx.bench;
+
+import com.example.todoappjavafx.model.Priority;
+import com.example.todoappjavafx.model.Task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Seeded synthetic tasks, so every benchmark run works on the same data.
+ */
+public final class TaskFixtures {
+
+    private static final String[] WORDS = {
+            "review", "meeting", "budget", "report", "call", "email", "design", "deploy",
+            "invoice", "plan", "draft", "fix", "update", "client", "team", "weekly"
+    };
+    private static final LocalDate BASE_DATE = LocalDate.of(2025, 1, 1);
+
+    private TaskFixtures() {
+    }
+
+    public static List<Task> generate(int count, long seed) {
+        Random random = new Random(seed);
+        Priority[] priorities = Priority.values();
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String id = new UUID(random.nextLong(), random.nextLong()).toString();
+            tasks.add(new Task(id,
+                    words(random, 2 + random.nextInt(4)),
+                    random.nextInt(4) == 0 ? null : words(random, 5 + random.nextInt(15)),
+                    priorities[random.nextInt(priorities.length)],
+                    random.nextInt(10) == 0 ? null : BASE_DATE.plusDays(random.nextInt(730)),
+                    random.nextBoolean()));
+        }
+        return tasks;
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) text.append(' ');
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.todoappjavafx.bench;
+
+import com.example.todoappjavafx.model.Task;
+import com.example.todoappjavafx.util.JsonUtil;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import com.google.gson.reflect.TypeToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gson round trip of a task list: the streaming Task/Priority/LocalDate adapters
+ * against the reflective binding with a JsonSerializer/JsonDeserializer for
+ * LocalDate that the repository used before.
+ *
+ * Reported as throughput (whole lists per second; multiply by taskCount for tasks
+ * per second). Run with {@code -prof gc} to compare allocation per operation as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSerializationBenchmark {
+
+    private static final Type TASK_LIST = new TypeToken<List<Task>>() {}.getType();
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int taskCount;
+
+    private Gson reflective;
+    private Gson adapters;
+    private List<Task> tasks;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        reflective = new GsonBuilder()
+                .registerTypeAdapter(LocalDate.class, (JsonSerializer<LocalDate>) (date, type, context) ->
+                        new JsonPrimitive(date.toString()))
+                .registerTypeAdapter(LocalDate.class, (JsonDeserializer<LocalDate>) (element, type, context) ->
+                        LocalDate.parse(element.getAsString()))
+                .create();
+        adapters = JsonUtil.gsonBuilder().create();
+        tasks = TaskFixtures.generate(taskCount, 42);
+        json = adapters.toJson(tasks, TASK_LIST);
+    }
+
+    @Benchmark
+    public String serializeReflective() {
+        return reflective.toJson(tasks, TASK_LIST);
+    }
+
+    @Benchmark
+    public String serializeAdapters() {
+        return adapters.toJson(tasks, TASK_LIST);
+    }
+
+    @Benchmark
+    public List<Task> parseReflective() {
+        return reflective.fromJson(json, TASK_LIST);
+    }
+
+    @Benchmark
+    public List<Task> parseAdapters() {
+        return adapters.fromJson(json, TASK_LIST);
+    }
+}
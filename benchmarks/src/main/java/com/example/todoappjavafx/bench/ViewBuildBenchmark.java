@@ -0,0 +1,122 @@
+package com.example.todoappjavafx.bench;
+
+import com.example.todoappjavafx.MainApp;
+import com.example.todoappjavafx.controller.TaskFormController;
+import com.example.todoappjavafx.model.Task;
+import com.example.todoappjavafx.view.TaskListCell;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cell creation and dialog open latency, FXML (before) against the code-built views (after).
+ *
+ * "Before" loads copies of the former task-card.fxml and task-form-view.fxml (in
+ * {@code bench/legacy}, without the controller, so it slightly flatters FXML) and
+ * builds a new dialog window per open like the app used to. "After" creates
+ * {@link TaskListCell}s and opens the shared {@link TaskFormController} dialog.
+ * Prints the first (cold) call and percentiles of {@code --iterations} warm calls.
+ * Not a JMH benchmark: it needs a running FX toolkit and a display.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.example.todoappjavafx.bench.ViewBuildBenchmark --iterations=500
+ * </pre>
+ */
+public final class ViewBuildBenchmark {
+
+    private ViewBuildBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        // Launched through a nested class so the JavaFX launcher check does not apply to the main class
+        Application.launch(App.class, args);
+    }
+
+    public static class App extends Application {
+
+        private static final URL LEGACY_CARD = ViewBuildBenchmark.class.getResource("legacy/task-card.fxml");
+        private static final URL LEGACY_FORM = ViewBuildBenchmark.class.getResource("legacy/task-form-view.fxml");
+
+        private int iterations;
+        private int warmup;
+
+        @Override
+        public void start(Stage owner) {
+            Map<String, String> named = getParameters().getNamed();
+            iterations = Integer.parseInt(named.getOrDefault("iterations", "200"));
+            warmup = Integer.parseInt(named.getOrDefault("warmup", "50"));
+
+            Scene ownerScene = new Scene(new StackPane(), 400, 300);
+            ownerScene.getStylesheets().add(Objects.requireNonNull(
+                    MainApp.class.getResource("styles/light-theme.css")).toExternalForm());
+            owner.setScene(ownerScene);
+            owner.show();
+
+            Task task = TaskFixtures.generate(1, 42).get(0);
+            // Cells only use the service and the form when a button is clicked
+            measure("cell: FXML card", () -> load(LEGACY_CARD));
+            measure("cell: TaskListCell", () -> new TaskListCell(null, null));
+
+            measure("dialog: FXML, new window", () -> {
+                Stage stage = new Stage();
+                stage.initModality(Modality.APPLICATION_MODAL);
+                stage.initOwner(owner);
+                Scene scene = new Scene(load(LEGACY_FORM));
+                scene.getStylesheets().addAll(ownerScene.getStylesheets());
+                stage.setScene(scene);
+                stage.show();
+                stage.close();
+            });
+            TaskFormController form = new TaskFormController(null);
+            measure("dialog: reused TaskFormController", () -> {
+                form.showEdit(owner, task);
+                form.close();
+            });
+
+            Platform.exit();
+        }
+
+        private void measure(String name, Runnable action) {
+            long cold = time(action);
+            for (int i = 0; i < warmup; i++) {
+                action.run();
+            }
+            long[] warm = new long[iterations];
+            for (int i = 0; i < iterations; i++) {
+                warm[i] = time(action);
+            }
+            Arrays.sort(warm);
+            System.out.printf("%-36s first=%8.1f us  p50=%8.1f us  p90=%8.1f us  max=%8.1f us%n", name,
+                    cold / 1e3, percentile(warm, 0.50), percentile(warm, 0.90), warm[warm.length - 1] / 1e3);
+        }
+
+        private static long time(Runnable action) {
+            long start = System.nanoTime();
+            action.run();
+            return System.nanoTime() - start;
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            return sorted[Math.min(sorted.length - 1, (int) (p * sorted.length))] / 1e3;
+        }
+
+        private static Parent load(URL fxml) {
+            try {
+                return new FXMLLoader(fxml).load();
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to load " + fxml, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+#!/bin/sh
+# Compares cold start of the jlink image with and without the AppCDS archive.
+#
+#   scripts/measure-startup.sh [runs]      (default: 10 runs each)
+#
+# Every run starts the app through scripts/todo-app, which exits once the task list is
+# loaded (-Dtodo.exitAfterStartup=true). Prints the median of each startup stage and of
+# the whole process (ms); needs a display, e.g. run it under xvfb-run on a server.
+
+RUNS="${1:-10}"
+DIR="$(dirname "$0")"
+WORK="$(mktemp -d)"
+trap 'rm -rf "$WORK"' EXIT
+
+measure() {
+    label="$1"; shift
+    log="$WORK/$label.csv"
+    i=0
+    while [ "$i" -lt "$RUNS" ]; do
+        start=$(date +%s%N)
+        JAVA_OPTS="-Dtodo.exitAfterStartup=true -Dtodo.startup.log=$log" "$DIR/todo-app" "$@" > /dev/null
+        end=$(date +%s%N)
+        # Same shape as the timer's lines, with the whole process as the last stage
+        sed -i '$ s/$/,process-exit='"$(( (end - start) / 1000000 ))"'/' "$log"
+        i=$((i + 1))
+    done
+
+    # Median per stage; lines look like <instant>,stage=ms,stage=ms,...
+    awk -F, -v label="$label" '
+        { for (i = 2; i <= NF; i++) { split($i, kv, "="); if (!(kv[1] in seen)) { seen[kv[1]] = 1; order[++n] = kv[1] }
+                                       values[kv[1]] = values[kv[1]] " " kv[2] } }
+        END {
+            printf "%-8s", label
+            for (s = 1; s <= n; s++) {
+                count = split(values[order[s]], v, " ")
+                for (a = 1; a <= count; a++) for (b = a + 1; b <= count; b++) if (v[b] + 0 < v[a] + 0) { t = v[a]; v[a] = v[b]; v[b] = t }
+                printf "  %s=%d", order[s], v[int((count + 1) / 2)]
+            }
+            printf "\n"
+        }' "$log"
+}
+
+echo "Median startup (ms) over $RUNS runs:"
+measure "no-cds" --no-cds
+measure "cds"
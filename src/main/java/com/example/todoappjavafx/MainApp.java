@@ -1,11 +1,21 @@
 package com.example.todoappjavafx;
 
+import com.example.todoappjavafx.metrics.Metrics;
+import com.example.todoappjavafx.service.AsyncTaskService;
+import com.example.todoappjavafx.service.TaskService;
+import com.example.todoappjavafx.view.DiagnosticsWindow;
+import com.example.todoappjavafx.workspace.WorkspaceManager;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
 import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Objects;
 
 public class MainApp extends Application {
@@ -13,6 +23,42 @@ public class MainApp extends Application {
     private static Scene scene;
     private static boolean darkMode = false; // toggle flag
 
+    private static final Path DATA_DIRECTORY = Path.of("src/main/resources/data");
+    private static final String EXIT_AFTER_STARTUP = "todo.exitAfterStartup";
+    private static WorkspaceManager workspaces;
+    private static AsyncTaskService taskService;
+
+    @Override
+    public void init() {
+        // Built before the FXML is loaded so controllers can pick it up in initialize(); the store
+        // itself is read on the service's I/O thread while the window is being shown
+        workspaces = new WorkspaceManager(DATA_DIRECTORY);
+        taskService = new AsyncTaskService(() -> {
+            TaskService service = workspaces.openActive();
+            StartupTimer.mark(StartupTimer.STORE_OPENED);
+            return service;
+        });
+    }
+
+    /**
+     * Called once the task list is loaded: reports the startup timings, and ends the
+     * run when started with {@code -Dtodo.exitAfterStartup=true} (CDS training and
+     * startup measurements, see scripts/).
+     */
+    public static void startupComplete() {
+        StartupTimer.report();
+        if (Boolean.getBoolean(EXIT_AFTER_STARTUP)) Platform.exit();
+    }
+
+    /** Shared task service; all repository I/O goes through its background thread. */
+    public static AsyncTaskService getTaskService() {
+        return taskService;
+    }
+
+    public static WorkspaceManager getWorkspaces() {
+        return workspaces;
+    }
+
     @Override
     public void start(Stage stage) throws IOException {
         FXMLLoader fxmlLoader = new FXMLLoader(
@@ -27,9 +73,36 @@ public class MainApp extends Application {
                 ).toExternalForm()
         );
 
+        // 📊 Hidden diagnostics window with the latency percentiles
+        scene.getAccelerators().put(
+                new KeyCodeCombination(KeyCode.D, KeyCombination.SHORTCUT_DOWN, KeyCombination.SHIFT_DOWN),
+                () -> DiagnosticsWindow.show(stage));
+
         stage.setTitle("TODO App 🚀");
         stage.setScene(scene);
         stage.show();
+        StartupTimer.mark(StartupTimer.WINDOW_SHOWN);
+
+        // ⏱️ The first pulse after show() lays out and renders the (still loading) window
+        scene.addPostLayoutPulseListener(new Runnable() {
+            @Override
+            public void run() {
+                StartupTimer.mark(StartupTimer.FIRST_FRAME);
+                scene.removePostLayoutPulseListener(this);
+            }
+        });
+    }
+
+    @Override
+    public void stop() throws Exception {
+        // Let queued writes reach the disk before the JVM exits
+        taskService.close();
+        workspaces.close(); // Every open list, then the manifest with their final counts
+
+        String metricsDump = System.getProperty(Metrics.DUMP_PROPERTY);
+        if (metricsDump != null && !metricsDump.isBlank()) {
+            Metrics.dump(Path.of(metricsDump));
+        }
     }
 
     // ✅ Utility method for switching themes later
@@ -0,0 +1,70 @@
+package com.example.todoappjavafx;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Records how long after process start each startup stage was reached.
+ *
+ * With {@code -Dtodo.startup.log=<file>}, {@link #report()} appends the stages to
+ * that file as one CSV line per start once the task list is fully loaded, to track
+ * time-to-first-paint and time-to-loaded across runs, and prints them, e.g.
+ * {@code Startup (ms): window-shown=412, first-frame=468, store-opened=903, ...}.
+ * Without it nothing is written.
+ */
+public final class StartupTimer {
+
+    public static final String WINDOW_SHOWN = "window-shown";
+    public static final String FIRST_FRAME = "first-frame";
+    public static final String STORE_OPENED = "store-opened";
+    public static final String FIRST_TASKS_SHOWN = "first-tasks-shown";
+    public static final String ALL_TASKS_LOADED = "all-tasks-loaded";
+
+    private static final String LOG_PROPERTY = "todo.startup.log";
+
+    // Not every platform reports when the process started; class loading is the next best thing
+    private static final Instant START = ProcessHandle.current().info().startInstant().orElseGet(Instant::now);
+    private static final Map<String, Long> MARKS = new LinkedHashMap<>();
+    private static boolean reported;
+
+    private StartupTimer() {
+    }
+
+    /** Records the first time {@code stage} is reached; later calls for the same stage are ignored. */
+    public static synchronized void mark(String stage) {
+        MARKS.putIfAbsent(stage, Duration.between(START, Instant.now()).toMillis());
+    }
+
+    /** Milliseconds since process start for each stage reached so far, in the order they were reached. */
+    public static synchronized Map<String, Long> marks() {
+        return new LinkedHashMap<>(MARKS);
+    }
+
+    /** Logs and prints the stages once per run, if a log file was asked for. */
+    public static synchronized void report() {
+        String log = System.getProperty(LOG_PROPERTY);
+        if (reported || log == null || log.isBlank()) return;
+        reported = true;
+        System.out.println("Startup (ms): " + MARKS.entrySet().stream()
+                .map(mark -> mark.getKey() + "=" + mark.getValue())
+                .collect(Collectors.joining(", ")));
+
+        String line = Instant.now() + "," + MARKS.entrySet().stream()
+                .map(mark -> mark.getKey() + "=" + mark.getValue())
+                .collect(Collectors.joining(",")) + System.lineSeparator();
+        try {
+            Files.writeString(Path.of(log), line, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -1,23 +1,38 @@
 package com.example.todoappjavafx.controller;
 
 import com.example.todoappjavafx.MainApp;
+import com.example.todoappjavafx.StartupTimer;
+import com.example.todoappjavafx.model.PagedTaskList;
 import com.example.todoappjavafx.model.Task;
-import com.example.todoappjavafx.repository.JsonTaskRepository;
-import com.example.todoappjavafx.service.TaskService;
+import com.example.todoappjavafx.model.TaskListModel;
+import com.example.todoappjavafx.model.WorkspaceSummary;
+import com.example.todoappjavafx.service.AsyncTaskService;
+import com.example.todoappjavafx.service.TaskChange;
+import com.example.todoappjavafx.view.ArchiveWindow;
 import com.example.todoappjavafx.view.TaskListCell;
+import com.example.todoappjavafx.view.WorkspaceListCell;
+import com.example.todoappjavafx.workspace.WorkspaceManager;
+import javafx.animation.AnimationTimer;
 import javafx.animation.FadeTransition;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.BooleanBinding;
+import javafx.beans.binding.DoubleBinding;
+import javafx.beans.property.LongProperty;
+import javafx.beans.property.SimpleLongProperty;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.stage.Modality;
-import javafx.stage.Stage;
 import javafx.util.Duration;
 
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 public class MainController {
@@ -28,77 +43,314 @@ public class MainController {
     @FXML private ProgressBar completionProgress;
     @FXML private Button toggleThemeBtn;
     @FXML private Button addTaskBtn;
+    @FXML private Button completeSelectedBtn;
+    @FXML private Button deleteSelectedBtn;
+    @FXML private Button clearCompletedBtn;
+    @FXML private ListView<WorkspaceSummary> workspaceList;
+    @FXML private Button newListBtn;
+    @FXML private Button historyBtn;
 
-    private final TaskService taskService = new TaskService(
-            new JsonTaskRepository("src/main/resources/data/tasks.json")
-    );
+    private final AsyncTaskService taskService = MainApp.getTaskService();
+    // 📂 Named task lists; the service always works on the active one
+    private final WorkspaceManager workspaces = MainApp.getWorkspaces();
+    private boolean updatingSidebar; // Selection changes made by refreshSidebar() are not switches
 
-    private final ObservableList<Task> taskObservableList = FXCollections.observableArrayList();
+    // One master list of tasks; the list view shows its filtered/sorted view
+    private final TaskListModel taskListModel = new TaskListModel();
+    private TaskFilterPipeline filterPipeline;
+    // ✏️ One add/edit dialog, built on first use and reused afterwards
+    private final TaskFormController taskForm = new TaskFormController(taskService);
+
+    // 📜 Above this many tasks the list is paged from the store instead of held in memory
+    private static final int PAGED_THRESHOLD = 50_000;
+    private static final int PAGE_SIZE = 200;
+    private static final int MAX_PAGES = 10;
+    private PagedTaskList pagedTasks; // Only in paged mode
+
+    // 🚀 Initial load: the first screenful, then larger chunks, one per frame
+    private static final int FIRST_CHUNK = 50;
+    private static final int CHUNK_SIZE = 2_000;
+    private Set<String> deletedWhileLoading; // Only while the initial load is streaming in
+    private AnimationTimer loadTimer;
+    private long loadGeneration; // Bumped per load, so results for a list switched away from are dropped
+    private boolean startupReported;
+
+    // 🗄️ Archived tasks are all completed; they count towards the progress while nothing is filtered
+    private final LongProperty archivedCount = new SimpleLongProperty();
+    private DoubleBinding modelProgress;
 
     @FXML
     public void initialize() {
-        // We'll call the zero-arg version here for initialization clarity
-        refreshTaskListNoArg();
+        filterPipeline = new TaskFilterPipeline(taskService, taskListModel);
+        modelProgress = Bindings.createDoubleBinding(() -> {
+            long archived = filterPipeline.isFiltering() ? 0 : archivedCount.get();
+            long total = taskListModel.visibleCountProperty().get() + archived;
+            return total == 0 ? 0 : (double) (taskListModel.completedCountProperty().get() + archived) / total;
+        }, taskListModel.visibleCountProperty(), taskListModel.completedCountProperty(), archivedCount);
+        taskListView.setItems(taskListModel.getVisibleTasks());
+        completionProgress.progressProperty().bind(modelProgress);
+        // Every stored change, from this view or elsewhere, patches the model row by row
+        taskService.addChangeListener(this::applyChanges);
+        loadTasks();
         setupTaskListView(); // ✅ use custom TaskListCell
         setupSearchAndFilter();
+        setupBulkActions();
+        setupWorkspaces();
 
         toggleThemeBtn.setOnAction(e -> switchTheme());
         addTaskBtn.setOnAction(e -> openAddTaskDialog());
     }
 
-    /** 🔄 Helper method for initial load (no change) */
-    private void refreshTaskListNoArg() {
-        taskObservableList.setAll(taskService.getAllTasks());
-        taskListView.setItems(taskObservableList);
-        updateProgressBar();
+    /** 🔄 Initial load, off the FX thread; afterwards the model is only patched per task */
+    private void loadTasks() {
+        long ticket = ++loadGeneration;
+        taskListView.setPlaceholder(new Label("Loading tasks…"));
+        // A store that fails to open is reported here, before any of the calls queued behind it
+        AsyncTaskService.onFxThread(taskService.opened(), opened ->
+                AsyncTaskService.onFxThread(taskService.countTasks(), count -> {
+                    if (ticket != loadGeneration) return; // Another list was opened meanwhile
+                    AsyncTaskService.onFxThread(taskService.countArchived(), archivedCount::set);
+                    if (count > PAGED_THRESHOLD) {
+                        usePagedList();
+                    } else {
+                        AsyncTaskService.onFxThread(taskService.getAllTasks(), tasks -> {
+                            if (ticket == loadGeneration) streamIntoModel(tasks);
+                        });
+                    }
+                }));
+    }
+
+    /** 🚀 Shows the first screenful right away, then appends the rest one chunk per frame */
+    private void streamIntoModel(List<Task> tasks) {
+        deletedWhileLoading = new HashSet<>();
+        loadTimer = new AnimationTimer() {
+            private int loaded;
+
+            @Override
+            public void handle(long now) {
+                int end = Math.min(tasks.size(), loaded == 0 ? FIRST_CHUNK : loaded + CHUNK_SIZE);
+                List<Task> chunk = new ArrayList<>(tasks.subList(loaded, end));
+                chunk.removeIf(task -> deletedWhileLoading.contains(task.getId()));
+                taskListModel.addAll(chunk);
+                if (loaded == 0) StartupTimer.mark(StartupTimer.FIRST_TASKS_SHOWN);
+                loaded = end;
+
+                if (loaded >= tasks.size()) {
+                    stop();
+                    loadTimer = null;
+                    deletedWhileLoading = null;
+                    StartupTimer.mark(StartupTimer.ALL_TASKS_LOADED);
+                    loadingFinished();
+                }
+            }
+        };
+        loadTimer.start();
+    }
+
+    private void loadingFinished() {
+        taskListView.setPlaceholder(new Label("No tasks yet"));
+        if (!startupReported) { // Only the first list loaded is part of startup
+            startupReported = true;
+            MainApp.startupComplete();
+        }
+    }
+
+    /** 🧹 Empties the view (and leaves paged mode) before another list is loaded into it */
+    private void resetList() {
+        loadGeneration++;
+        if (loadTimer != null) {
+            loadTimer.stop();
+            loadTimer = null;
+        }
+        deletedWhileLoading = null;
+        if (pagedTasks != null) {
+            pagedTasks = null;
+            taskListView.setItems(taskListModel.getVisibleTasks());
+            completionProgress.progressProperty().bind(modelProgress);
+        }
+        filterPipeline.reset();
+        taskListModel.setAll(List.of());
+    }
+
+    /** 📜 Huge stores: the list view reads pages around the viewport from the service */
+    private void usePagedList() {
+        pagedTasks = new PagedTaskList(PAGE_SIZE, MAX_PAGES);
+        pagedTasks.setFailureHandler(error -> AsyncTaskService.reportError("Task storage error: ", error));
+        filterPipeline.usePagedList(pagedTasks);
+        taskListView.setItems(pagedTasks);
+        // Paged lists are never loaded in full; startup ends with the first page
+        pagedTasks.addListener(new InvalidationListener() {
+            @Override
+            public void invalidated(Observable observable) {
+                pagedTasks.removeListener(this);
+                StartupTimer.mark(StartupTimer.FIRST_TASKS_SHOWN);
+                loadingFinished();
+            }
+        });
+        // The model's counters only cover loaded tasks, so show the store's progress instead
+        completionProgress.progressProperty().unbind();
+        filterTasks();
+        refreshProgress();
     }
 
-    /** 🔄 Refresh task list - NOW ACCEPTS VOID TO MATCH CONSUMER<VOID> IN TaskListCell */
-    private void refreshTaskList(Void unused) {
-        refreshTaskListNoArg();
+    private void refreshProgress() {
+        AsyncTaskService.onFxThread(taskService.getCompletionProgress(),
+                percent -> completionProgress.setProgress(percent / 100));
+    }
+
+    /** ✏️ Tasks were added, edited or deleted: re-evaluate just those rows */
+    private void applyChanges(List<TaskChange> changes) {
+        refreshSidebar(); // The active list's counts were updated before the changes got here
+        if (deletedWhileLoading != null) {
+            // Not streamed in yet, so removing them from the model would not stop them from appearing
+            changes.stream()
+                    .filter(change -> change.type() == TaskChange.Type.DELETED)
+                    .forEach(change -> deletedWhileLoading.add(change.id()));
+        }
+        if (pagedTasks != null) {
+            // Loaded rows are the instances this view edits and redraw themselves; a reload is
+            // only needed when rows come or go, or an edit may move a task in or out of the filter
+            boolean rowsMoved = filterPipeline.isFiltering()
+                    || changes.stream().anyMatch(change -> change.type() != TaskChange.Type.UPDATED);
+            if (rowsMoved) pagedTasks.refresh();
+            refreshProgress();
+            return;
+        }
+        List<Task> changed = new ArrayList<>();
+        List<String> deleted = new ArrayList<>();
+        for (TaskChange change : changes) {
+            if (change.type() == TaskChange.Type.DELETED) {
+                deleted.add(change.id());
+            } else {
+                filterPipeline.taskChanged(change.task());
+                changed.add(change.task());
+            }
+        }
+        taskListModel.upsertAll(changed);
+        taskListModel.removeAll(deleted);
     }
 
     /** 🎨 Custom Card Cell Renderer */
     private void setupTaskListView() {
-        taskListView.setCellFactory(listView ->
-                // This line now works because refreshTaskList accepts a Void argument
-                new TaskListCell(taskService, this::refreshTaskList)
-        );
+        taskListView.setCellFactory(listView -> new TaskListCell(taskService, taskForm));
     }
 
-    /** 🔍 Setup search/filter */
-    private void setupSearchAndFilter() {
-        searchField.textProperty().addListener((obs, oldText, newText) -> filterTasks());
-        priorityFilter.getItems().add("All Tasks");
-        priorityFilter.getItems().addAll("Low", "Medium", "High");
-        priorityFilter.setValue("All Tasks"); // Set it as the default
-        priorityFilter.valueProperty().addListener((obs, oldVal, newVal) -> filterTasks());
+    /** ☑️ Multi-select bulk actions */
+    private void setupBulkActions() {
+        taskListView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        BooleanBinding noSelection = Bindings.isEmpty(taskListView.getSelectionModel().getSelectedItems());
+        completeSelectedBtn.disableProperty().bind(noSelection);
+        deleteSelectedBtn.disableProperty().bind(noSelection);
+
+        completeSelectedBtn.setOnAction(e -> completeSelected());
+        deleteSelectedBtn.setOnAction(e -> deleteSelected());
+        clearCompletedBtn.setOnAction(e -> clearCompleted());
+        // 🗄️ Archived tasks are only read while the history window is open
+        historyBtn.setOnAction(e -> ArchiveWindow.show(historyBtn.getScene().getWindow(), taskService));
     }
 
-    /** 🔎 Filter logic */
-    private void filterTasks() {
-        String query = searchField.getText().toLowerCase();
-        String selectedPriority = priorityFilter.getValue();
+    private void completeSelected() {
+        List<Task> selected = selectedTasks();
+        selected.removeIf(Task::isCompleted);
+        if (selected.isEmpty()) return;
+        selected.forEach(task -> task.setCompleted(true));
+        AsyncTaskService.onFxThread(taskService.updateTasks(selected), unused -> { });
+    }
 
-        taskObservableList.setAll(taskService.getAllTasks().stream()
-                .filter(task -> task.getTitle().toLowerCase().contains(query))
-                .filter(task -> selectedPriority == null ||
-                        selectedPriority.equals("All Tasks") ||
-                        task.getPriority().name().equalsIgnoreCase(selectedPriority))
-                .collect(Collectors.toList()));
+    private void deleteSelected() {
+        List<Task> selected = selectedTasks();
+        if (selected.isEmpty() || !confirm("Delete " + selected.size() + " selected task(s)?")) return;
+        List<String> ids = selected.stream().map(Task::getId).collect(Collectors.toList());
+        AsyncTaskService.onFxThread(taskService.deleteTasks(ids), unused -> { });
+    }
 
-        updateProgressBar();
+    /** Selected rows that are loaded (a paged list reads not yet loaded rows as null) */
+    private List<Task> selectedTasks() {
+        List<Task> selected = new ArrayList<>(taskListView.getSelectionModel().getSelectedItems());
+        selected.removeIf(Objects::isNull);
+        return selected;
     }
 
-    /** 📊 Progress Bar Update */
-    private void updateProgressBar() {
-        long total = taskObservableList.size();
-        if (total == 0) {
-            completionProgress.setProgress(0);
-            return;
+    private void clearCompleted() {
+        if (!confirm("Delete all completed tasks?")) return;
+        AsyncTaskService.onFxThread(taskService.deleteCompletedTasks(), deleted -> { });
+    }
+
+    private boolean confirm(String header) {
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("Delete Tasks");
+        confirm.setHeaderText(header);
+        return confirm.showAndWait().filter(result -> result == ButtonType.OK).isPresent();
+    }
+
+    /** 📂 Sidebar of task lists, summarized from the manifest without opening their stores */
+    private void setupWorkspaces() {
+        workspaceList.setCellFactory(listView -> new WorkspaceListCell());
+        workspaceList.getSelectionModel().selectedItemProperty().addListener((obs, oldList, selected) -> {
+            if (!updatingSidebar && selected != null) switchWorkspace(selected.name());
+        });
+        newListBtn.setOnAction(e -> createWorkspace());
+        // The manifest is read when the store opens
+        AsyncTaskService.onFxThread(taskService.opened(), opened -> refreshSidebar());
+    }
+
+    private void refreshSidebar() {
+        updatingSidebar = true;
+        try {
+            workspaceList.getItems().setAll(workspaces.summaries());
+            String active = workspaces.activeName();
+            workspaceList.getItems().stream()
+                    .filter(workspace -> workspace.name().equals(active))
+                    .findFirst()
+                    .ifPresent(workspace -> workspaceList.getSelectionModel().select(workspace));
+        } finally {
+            updatingSidebar = false;
         }
-        long completed = taskObservableList.stream().filter(Task::isCompleted).count();
-        completionProgress.setProgress((double) completed / total);
+    }
+
+    /** 🔀 The service opens the list on its I/O thread; the view reloads once it has switched */
+    private void switchWorkspace(String name) {
+        if (name.equals(workspaces.activeName())) return;
+        taskForm.close(); // An open edit belongs to the list being left
+        ArchiveWindow.close();
+        CompletableFuture<Void> switched = taskService.switchTo(() -> workspaces.open(name));
+        AsyncTaskService.onFxThread(switched, unused -> {
+            resetList();
+            loadTasks();
+            filterTasks(); // Re-runs the current search and priority filter on the new list
+        });
+        // Also after a failed switch, so the sidebar shows the list that is still active
+        switched.whenCompleteAsync((unused, error) -> refreshSidebar(), AsyncTaskService.FX_THREAD);
+    }
+
+    private void createWorkspace() {
+        TextInputDialog dialog = new TextInputDialog();
+        dialog.setTitle("New List");
+        dialog.setHeaderText("Name of the new task list");
+        dialog.showAndWait().ifPresent(name -> {
+            try {
+                WorkspaceSummary created = workspaces.create(name);
+                refreshSidebar();
+                switchWorkspace(created.name());
+            } catch (IllegalArgumentException e) {
+                new Alert(Alert.AlertType.WARNING, e.getMessage()).show();
+            }
+        });
+    }
+
+    /** 🔍 Setup search/filter */
+    private void setupSearchAndFilter() {
+        searchField.textProperty().addListener((obs, oldText, newText) ->
+                filterPipeline.requestDebounced(newText, priorityFilter.getValue()));
+        priorityFilter.getItems().add(TaskFilterPipeline.ALL_PRIORITIES);
+        priorityFilter.getItems().addAll("Low", "Medium", "High");
+        priorityFilter.setValue(TaskFilterPipeline.ALL_PRIORITIES); // Set it as the default
+        priorityFilter.valueProperty().addListener((obs, oldVal, newVal) -> filterTasks());
+    }
+
+    /** 🔎 Filter logic: debounced and cancellable, applied as the model's filter (see TaskFilterPipeline) */
+    private void filterTasks() {
+        filterPipeline.request(searchField.getText(), priorityFilter.getValue());
     }
 
     /** 🌓 Smooth Theme Switch */
@@ -126,31 +378,8 @@ public class MainController {
         fadeOut.play();
     }
 
-    /** ➕ Add Task Dialog */
+    /** ➕ Add Task Dialog (the new task reaches the list as a change event) */
     private void openAddTaskDialog() {
-        try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/todoappjavafx/task-form-view.fxml"));
-            Scene scene = new Scene(loader.load());
-
-            scene.getStylesheets().addAll(addTaskBtn.getScene().getStylesheets());
-
-            // Get the correct controller
-            TaskFormController controller = loader.getController();
-
-            // 🛑 CRITICAL: Inject the service and the refresh callback
-            controller.setTaskService(taskService);
-            controller.setOnSaveCallback(this::refreshTaskListNoArg);
-
-            // Configure and show the new window (Stage)
-            Stage stage = new Stage();
-            stage.setTitle("Add New Task");
-            stage.initModality(Modality.APPLICATION_MODAL); // Blocks main window
-            stage.initOwner(addTaskBtn.getScene().getWindow()); // Set parent
-            stage.setScene(scene);
-            stage.showAndWait(); // Wait until closed
-
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        taskForm.showAdd(addTaskBtn.getScene().getWindow());
     }
 }
\ No newline at end of file
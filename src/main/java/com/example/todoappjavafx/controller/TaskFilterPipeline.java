@@ -0,0 +1,189 @@
+package com.example.todoappjavafx.controller;
+
+import com.example.todoappjavafx.metrics.Metrics;
+import com.example.todoappjavafx.metrics.OperationTimer;
+import com.example.todoappjavafx.model.PagedTaskList;
+import com.example.todoappjavafx.model.Priority;
+import com.example.todoappjavafx.model.Task;
+import com.example.todoappjavafx.model.TaskListModel;
+import com.example.todoappjavafx.repository.TaskSearchIndex;
+import com.example.todoappjavafx.service.AsyncTaskService;
+import javafx.animation.PauseTransition;
+import javafx.util.Duration;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+/**
+ * Turns search box and priority filter input into the filter and sort order of a {@link TaskListModel}.
+ *
+ * 1. Typing is debounced, so a burst of keystrokes runs one query.
+ * 2. A newer query cancels the one in flight, and late results are dropped.
+ * 3. A query that only extends the previous one narrows its (small) result
+ *    in memory instead of asking the service again.
+ * 4. The priority filter needs no I/O at all; it is a predicate on the loaded tasks.
+ *
+ * For stores too large to hold in memory, {@link #usePagedList} switches to a
+ * {@link PagedTaskList}: the filter then becomes the list's page query, still debounced.
+ *
+ * Everything here runs on the JavaFX Application Thread.
+ */
+class TaskFilterPipeline {
+
+    static final Duration DEBOUNCE = Duration.millis(150);
+    static final String ALL_PRIORITIES = "All Tasks";
+
+    // From the (debounced) request until the list shows the result; paged lists load it afterwards
+    private static final OperationTimer FILTER = Metrics.timer("ui.filter");
+
+    // Above this, a fresh index query is cheaper than re-matching the previous result
+    private static final int NARROW_LIMIT = 2_000;
+
+    private final AsyncTaskService taskService;
+    private final TaskListModel model;
+    private PagedTaskList pagedList; // Set in paged mode, replacing the model
+    private final PauseTransition debounce = new PauseTransition(DEBOUNCE);
+
+    private long generation;
+    private long requestStart;
+    private CompletableFuture<List<Task>> inFlight;
+
+    // The applied search: matching task ids in rank order; empty query = no search
+    private String query = "";
+    private String priority = ALL_PRIORITIES;
+    private Map<String, Integer> ranks = Map.of();
+
+    TaskFilterPipeline(AsyncTaskService taskService, TaskListModel model) {
+        this.taskService = taskService;
+        this.model = model;
+    }
+
+    /** Applies filters to pages queried from the service instead of the in-memory model. */
+    void usePagedList(PagedTaskList pagedList) {
+        this.pagedList = pagedList;
+    }
+
+    /**
+     * Forgets the applied search and leaves paged mode, e.g. when another task list is
+     * opened; the next {@link #request} starts from scratch. Late results are dropped.
+     */
+    void reset() {
+        debounce.stop();
+        generation++;
+        if (inFlight != null) {
+            inFlight.cancel(false);
+            inFlight = null;
+        }
+        pagedList = null;
+        query = "";
+        priority = ALL_PRIORITIES;
+        ranks = Map.of();
+    }
+
+    /** Whether a search or priority filter is applied, i.e. not every task is listed. */
+    boolean isFiltering() {
+        return !query.isBlank() || !ALL_PRIORITIES.equals(priority);
+    }
+
+    /** Runs the filter once typing has paused for {@link #DEBOUNCE}. */
+    void requestDebounced(String query, String priority) {
+        debounce.setOnFinished(e -> request(query, priority));
+        debounce.playFromStart();
+    }
+
+    /** Runs the filter right away, replacing any pending or running one. */
+    void request(String query, String priority) {
+        debounce.stop();
+        long ticket = ++generation;
+        requestStart = FILTER.start();
+        if (inFlight != null) {
+            inFlight.cancel(false); // Skipped entirely if the I/O thread has not picked it up yet
+            inFlight = null;
+        }
+
+        String normalized = query == null ? "" : query.toLowerCase(Locale.ROOT);
+        if (pagedList != null) {
+            this.query = normalized.trim();
+            this.priority = priority == null ? ALL_PRIORITIES : priority;
+            Priority level = ALL_PRIORITIES.equals(this.priority) ? null : Priority.valueOf(this.priority.toUpperCase(Locale.ROOT));
+            String pageQuery = this.query;
+            pagedList.setLoader((offset, limit) -> taskService.findPage(pageQuery, level, offset, limit));
+            FILTER.stop(requestStart);
+            return;
+        }
+        if (normalized.isBlank()) {
+            apply(normalized, priority, Map.of());
+            return;
+        }
+        if (canNarrow(normalized)) {
+            Map<String, Integer> narrowed = new HashMap<>();
+            ranks.forEach((id, rank) -> {
+                Task task = model.get(id);
+                if (task != null && TaskSearchIndex.matches(normalized, task)) narrowed.put(id, rank);
+            });
+            apply(normalized, priority, narrowed);
+            return;
+        }
+
+        CompletableFuture<List<Task>> request = taskService.searchTasks(normalized);
+        inFlight = request;
+        AsyncTaskService.onFxThread(request, tasks -> {
+            if (ticket != generation) return; // A newer query has been issued since
+            inFlight = null;
+            Map<String, Integer> found = new HashMap<>(tasks.size() * 2);
+            for (int i = 0; i < tasks.size(); i++) {
+                found.put(tasks.get(i).getId(), i);
+            }
+            apply(normalized, priority, found);
+        });
+    }
+
+    /**
+     * Keeps an active search in step with an added or edited task before the model
+     * re-evaluates it, so it appears or disappears like it would on a fresh search.
+     */
+    void taskChanged(Task task) {
+        if (pagedList != null || query.isBlank()) return;
+        boolean matches = TaskSearchIndex.matches(query, task);
+        if (matches == ranks.containsKey(task.getId())) return;
+        Map<String, Integer> updated = new HashMap<>(ranks);
+        if (matches) {
+            updated.put(task.getId(), updated.size());
+        } else {
+            updated.remove(task.getId());
+        }
+        ranks = updated;
+    }
+
+    private boolean canNarrow(String newQuery) {
+        return !query.isBlank()
+                && ranks.size() <= NARROW_LIMIT
+                && newQuery.startsWith(query);
+    }
+
+    private void apply(String newQuery, String priority, Map<String, Integer> newRanks) {
+        boolean searchToggled = query.isBlank() != newQuery.isBlank();
+        query = newQuery;
+        this.priority = priority == null ? ALL_PRIORITIES : priority;
+        ranks = newRanks;
+
+        // The predicate reads the ranks field, so taskChanged() updates apply without a new predicate
+        boolean allPriorities = priority == null || priority.equals(ALL_PRIORITIES);
+        Predicate<Task> byPriority = allPriorities ? task -> true
+                : task -> task.getPriority() != null && task.getPriority().name().equalsIgnoreCase(priority);
+        model.setFilter(query.isBlank() ? byPriority
+                : task -> ranks.containsKey(task.getId()) && byPriority.test(task));
+        if (searchToggled) {
+            // Best match first while searching, otherwise the order tasks were loaded/added in.
+            // A new filter re-adds every row, which sorts them by the current ranks.
+            model.setComparator(query.isBlank() ? null
+                    : Comparator.comparingInt(task -> ranks.getOrDefault(task.getId(), Integer.MAX_VALUE)));
+        }
+        FILTER.stop(requestStart, model.getVisibleTasks().size());
+    }
+}
@@ -2,93 +2,110 @@ package com.example.todoappjavafx.controller;
 
 import com.example.todoappjavafx.model.Priority;
 import com.example.todoappjavafx.model.Task;
-import com.example.todoappjavafx.service.TaskService;
-import javafx.fxml.FXML;
+import com.example.todoappjavafx.service.AsyncTaskService;
+import com.example.todoappjavafx.view.TaskFormView;
+import javafx.scene.Scene;
 import javafx.scene.control.*;
+import javafx.stage.Modality;
 import javafx.stage.Stage;
+import javafx.stage.Window;
 import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * The add/edit task dialog. One instance is shared by the main view and its cells:
+ * the form and its window are built on first use and reset for every later one.
+ */
 public class TaskFormController {
 
-    @FXML private Label formTitle;
-    @FXML private TextField titleField;
-    @FXML private TextArea descriptionField;
-    @FXML private ComboBox<Priority> priorityBox;
-    @FXML private DatePicker dueDatePicker;
-    @FXML private CheckBox completedCheck;
-    @FXML private Button saveBtn;
-    @FXML private Button cancelBtn;
+    private final AsyncTaskService taskService;
+    private final TaskFormView form = new TaskFormView();
+    private Stage stage; // Created on first show, then reused
 
-    private TaskService taskService;
     private Task existingTask;
-    private Runnable onSaveCallback;
 
-    @FXML
-    public void initialize() {
+    public TaskFormController(AsyncTaskService taskService) {
+        this.taskService = taskService;
+
         // populate priority options
-        priorityBox.getItems().setAll(Priority.values());
-        priorityBox.setValue(Priority.MEDIUM);
-        dueDatePicker.setValue(LocalDate.now());
+        form.priorityBox.getItems().setAll(Priority.values());
+        form.saveBtn.setOnAction(e -> onSave());
+        form.cancelBtn.setOnAction(e -> close());
     }
 
-    public void setTaskService(TaskService taskService) {
-        this.taskService = taskService;
+    /** ➕ Opens the empty form for a new task. */
+    public void showAdd(Window owner) {
+        existingTask = null;
+        form.formTitle.setText("Add New Task");
+        form.titleField.clear();
+        form.descriptionField.clear();
+        form.priorityBox.setValue(Priority.MEDIUM);
+        form.dueDatePicker.setValue(LocalDate.now());
+        form.completedCheck.setSelected(false);
+        show(owner, "Add New Task");
     }
 
-    public void setExistingTask(Task task) {
-        this.existingTask = task;
-        formTitle.setText("Edit Task");
+    /** ✏️ Opens the form prefilled with {@code task}; saving edits it in place. */
+    public void showEdit(Window owner, Task task) {
+        existingTask = task;
+        form.formTitle.setText("Edit Task");
 
         // prefill fields for editing
-        titleField.setText(task.getTitle());
-        descriptionField.setText(task.getDescription());
-        priorityBox.setValue(task.getPriority());
-        dueDatePicker.setValue(task.getDueDate());
-        completedCheck.setSelected(task.isCompleted());
+        form.titleField.setText(task.getTitle());
+        form.descriptionField.setText(task.getDescription());
+        form.priorityBox.setValue(task.getPriority());
+        form.dueDatePicker.setValue(task.getDueDate());
+        form.completedCheck.setSelected(task.isCompleted());
+        show(owner, "Edit Task");
+    }
+
+    public void close() {
+        if (stage != null) stage.hide();
     }
 
-    public void setOnSaveCallback(Runnable callback) {
-        this.onSaveCallback = callback;
+    private void show(Window owner, String title) {
+        if (stage == null) {
+            stage = new Stage();
+            stage.initModality(Modality.APPLICATION_MODAL); // Blocks main window
+            stage.initOwner(owner); // Set parent
+            stage.setScene(new Scene(form));
+        }
+        // The owner's theme may have been switched since the last time
+        stage.getScene().getStylesheets().setAll(owner.getScene().getStylesheets());
+        stage.setTitle(title);
+        form.titleField.requestFocus();
+        stage.show(); // Modal without a nested event loop; saving reaches the list as a change event
     }
 
-    @FXML
     private void onSave() {
-        String title = titleField.getText().trim();
+        String title = form.titleField.getText().trim();
         if (title.isEmpty()) {
             new Alert(Alert.AlertType.WARNING, "Title cannot be empty!").show();
             return;
         }
 
-        String description = descriptionField.getText();
-        Priority priority = priorityBox.getValue(); // It will never be null
-        LocalDate dueDate = dueDatePicker.getValue(); // It will default to today
-        boolean completed = completedCheck.isSelected();
+        String description = form.descriptionField.getText();
+        Priority priority = form.priorityBox.getValue(); // It will never be null
+        LocalDate dueDate = form.dueDatePicker.getValue(); // It will default to today
+        boolean completed = form.completedCheck.isSelected();
 
+        CompletableFuture<Void> saved;
         if (existingTask == null) {
-            Task newTask = new Task(title, description, priority, dueDate);
-            newTask.setCompleted(completed);
-            taskService.addTask(newTask);
+            Task task = new Task(title, description, priority, dueDate);
+            task.setCompleted(completed);
+            saved = taskService.addTask(task);
         } else {
             existingTask.setTitle(title);
             existingTask.setDescription(description);
             existingTask.setPriority(priority);
             existingTask.setDueDate(dueDate);
             existingTask.setCompleted(completed);
-            taskService.updateTask(existingTask);
+            saved = taskService.updateTask(existingTask);
         }
 
-        if (onSaveCallback != null) onSaveCallback.run();
-
-        closeForm();
-    }
-
-    @FXML
-    private void onCancel() {
-        closeForm();
-    }
+        // The write finishes in the background and reaches the list as a change event; only failures are shown here
+        AsyncTaskService.onFxThread(saved, unused -> { });
 
-    private void closeForm() {
-        Stage stage = (Stage) saveBtn.getScene().getWindow();
-        stage.close();
+        close();
     }
 }
@@ -0,0 +1,120 @@
+package com.example.todoappjavafx.metrics;
+
+import com.example.todoappjavafx.model.Task;
+import com.example.todoappjavafx.repository.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Times every call into a store ({@code repository.*} timers).
+ *
+ * Meant to sit directly on the file-backed store, below the write-behind queue and the
+ * indexes, so the timings are the store's own parsing and writing rather than cache hits.
+ */
+public class InstrumentedRepository implements Repository<Task>, AutoCloseable {
+
+    private static final OperationTimer LOAD = Metrics.timer("repository.load");
+    private static final OperationTimer FIND = Metrics.timer("repository.findById");
+    private static final OperationTimer PAGE = Metrics.timer("repository.findPage");
+    private static final OperationTimer SAVE = Metrics.timer("repository.save");
+    private static final OperationTimer UPDATE = Metrics.timer("repository.update");
+    private static final OperationTimer DELETE = Metrics.timer("repository.delete");
+
+    private final Repository<Task> delegate;
+
+    public InstrumentedRepository(Repository<Task> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void save(Task entity) {
+        long start = SAVE.start();
+        delegate.save(entity);
+        SAVE.stop(start);
+    }
+
+    @Override
+    public void update(Task entity) {
+        long start = UPDATE.start();
+        delegate.update(entity);
+        UPDATE.stop(start);
+    }
+
+    @Override
+    public void delete(String id) {
+        long start = DELETE.start();
+        delegate.delete(id);
+        DELETE.stop(start);
+    }
+
+    @Override
+    public Optional<Task> findById(String id) {
+        long start = FIND.start();
+        Optional<Task> task = delegate.findById(id);
+        FIND.stop(start);
+        return task;
+    }
+
+    @Override
+    public List<Task> findAll() {
+        long start = LOAD.start();
+        List<Task> tasks = delegate.findAll();
+        LOAD.stop(start, tasks.size());
+        return tasks;
+    }
+
+    @Override
+    public List<Task> findPage(int offset, int limit) {
+        long start = PAGE.start();
+        List<Task> tasks = delegate.findPage(offset, limit);
+        PAGE.stop(start, tasks.size());
+        return tasks;
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    // A batch is one sample; its size goes into the event's item count
+
+    @Override
+    public void saveAll(Collection<Task> entities) {
+        long start = SAVE.start();
+        delegate.saveAll(entities);
+        SAVE.stop(start, entities.size());
+    }
+
+    @Override
+    public void updateAll(Collection<Task> entities) {
+        long start = UPDATE.start();
+        delegate.updateAll(entities);
+        UPDATE.stop(start, entities.size());
+    }
+
+    @Override
+    public void deleteAll(Collection<String> ids) {
+        long start = DELETE.start();
+        delegate.deleteAll(ids);
+        DELETE.stop(start, ids.size());
+    }
+
+    @Override
+    public void setExternalChangeListener(Runnable listener) {
+        delegate.setExternalChangeListener(listener);
+    }
+
+    @Override
+    public void checkForExternalChanges() {
+        delegate.checkForExternalChanges();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
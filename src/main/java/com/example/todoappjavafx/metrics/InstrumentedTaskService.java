@@ -0,0 +1,159 @@
+package com.example.todoappjavafx.metrics;
+
+import com.example.todoappjavafx.model.Priority;
+import com.example.todoappjavafx.model.Task;
+import com.example.todoappjavafx.model.TaskPage;
+import com.example.todoappjavafx.repository.Repository;
+import com.example.todoappjavafx.service.TaskService;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * {@link TaskService} that times its queries and writes ({@code service.*} timers).
+ * Writes include publishing the change events to listeners.
+ */
+public class InstrumentedTaskService extends TaskService {
+
+    private static final OperationTimer ALL = Metrics.timer("service.getAllTasks");
+    private static final OperationTimer FILTER = Metrics.timer("service.filterByPriority");
+    private static final OperationTimer SEARCH = Metrics.timer("service.search");
+    private static final OperationTimer DUE = Metrics.timer("service.dueQueries");
+    private static final OperationTimer PAGE = Metrics.timer("service.findPage");
+    private static final OperationTimer PROGRESS = Metrics.timer("service.progress");
+    private static final OperationTimer ADD = Metrics.timer("service.add");
+    private static final OperationTimer UPDATE = Metrics.timer("service.update");
+    private static final OperationTimer DELETE = Metrics.timer("service.delete");
+    private static final OperationTimer ARCHIVE = Metrics.timer("service.archive");
+    private static final OperationTimer HISTORY = Metrics.timer("service.getArchivedTasks");
+
+    public InstrumentedTaskService(Repository<Task> repository) {
+        super(repository);
+    }
+
+    // --- Queries ---
+
+    @Override
+    public List<Task> getAllTasks() {
+        long start = ALL.start();
+        List<Task> tasks = super.getAllTasks();
+        ALL.stop(start, tasks.size());
+        return tasks;
+    }
+
+    @Override
+    public List<Task> filterByPriority(Priority priority) {
+        long start = FILTER.start();
+        List<Task> tasks = super.filterByPriority(priority);
+        FILTER.stop(start, tasks.size());
+        return tasks;
+    }
+
+    @Override
+    public List<Task> searchTasks(String query) {
+        long start = SEARCH.start();
+        List<Task> tasks = super.searchTasks(query);
+        SEARCH.stop(start, tasks.size());
+        return tasks;
+    }
+
+    @Override
+    public List<Task> getTasksDueBetween(LocalDate from, LocalDate to) {
+        long start = DUE.start();
+        List<Task> tasks = super.getTasksDueBetween(from, to);
+        DUE.stop(start, tasks.size());
+        return tasks;
+    }
+
+    @Override
+    public List<Task> getOverdueTasks() {
+        long start = DUE.start();
+        List<Task> tasks = super.getOverdueTasks();
+        DUE.stop(start, tasks.size());
+        return tasks;
+    }
+
+    @Override
+    public TaskPage findPage(String query, Priority priority, int offset, int limit) {
+        long start = PAGE.start();
+        TaskPage page = super.findPage(query, priority, offset, limit);
+        PAGE.stop(start, page.tasks().size());
+        return page;
+    }
+
+    @Override
+    public double getCompletionProgress() {
+        long start = PROGRESS.start();
+        double progress = super.getCompletionProgress();
+        PROGRESS.stop(start);
+        return progress;
+    }
+
+    @Override
+    public long countCompleted() {
+        long start = PROGRESS.start();
+        long completed = super.countCompleted();
+        PROGRESS.stop(start);
+        return completed;
+    }
+
+    @Override
+    public List<Task> getArchivedTasks() {
+        long start = HISTORY.start();
+        List<Task> tasks = super.getArchivedTasks();
+        HISTORY.stop(start, tasks.size());
+        return tasks;
+    }
+
+    // --- Writes ---
+
+    @Override
+    public void addTask(Task task) {
+        long start = ADD.start();
+        super.addTask(task);
+        ADD.stop(start);
+    }
+
+    @Override
+    public void addTasks(Collection<Task> tasks) {
+        long start = ADD.start();
+        super.addTasks(tasks);
+        ADD.stop(start, tasks.size());
+    }
+
+    @Override
+    public void updateTask(Task updatedTask) {
+        long start = UPDATE.start();
+        super.updateTask(updatedTask);
+        UPDATE.stop(start);
+    }
+
+    @Override
+    public void updateTasks(Collection<Task> tasks) {
+        long start = UPDATE.start();
+        super.updateTasks(tasks);
+        UPDATE.stop(start, tasks.size());
+    }
+
+    @Override
+    public void deleteTask(String id) {
+        long start = DELETE.start();
+        super.deleteTask(id);
+        DELETE.stop(start);
+    }
+
+    @Override
+    public void deleteTasks(Collection<String> ids) {
+        long start = DELETE.start();
+        super.deleteTasks(ids);
+        DELETE.stop(start, ids.size());
+    }
+
+    @Override
+    public void archiveTasks(Collection<Task> tasks) {
+        long start = ARCHIVE.start();
+        super.archiveTasks(tasks);
+        ARCHIVE.stop(start, tasks.size());
+    }
+}
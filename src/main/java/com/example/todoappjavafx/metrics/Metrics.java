@@ -0,0 +1,77 @@
+package com.example.todoappjavafx.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide registry of operation timers and counters.
+ *
+ * Call sites keep the timer in a static field ({@code Metrics.timer("repository.save")}),
+ * so recording is a histogram update without lookups. {@link #report()} renders
+ * p50/p90/p99/max per operation for the diagnostics window and metric dumps.
+ */
+public final class Metrics {
+
+    // Counters for bytes moved by the file stores
+    public static final String BYTES_READ = "store.bytesRead";
+    public static final String BYTES_WRITTEN = "store.bytesWritten";
+
+    /** Set to a file path to write {@link #report()} there when the app exits. */
+    public static final String DUMP_PROPERTY = "todo.metrics.dump";
+
+    private static final Map<String, OperationTimer> TIMERS = new ConcurrentSkipListMap<>();
+    private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    public static OperationTimer timer(String name) {
+        return TIMERS.computeIfAbsent(name, OperationTimer::new);
+    }
+
+    public static LongAdder counter(String name) {
+        return COUNTERS.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    public static void reset() {
+        TIMERS.values().forEach(timer -> timer.histogram().reset());
+        COUNTERS.values().forEach(LongAdder::reset);
+    }
+
+    /** A plain-text table of every timer (in milliseconds) and counter. */
+    public static String report() {
+        StringBuilder text = new StringBuilder();
+        text.append("Metrics at ").append(LocalDateTime.now().withNano(0)).append('\n');
+        text.append(String.format("%-28s %9s %10s %10s %10s %10s%n", "operation (ms)", "count", "p50", "p90", "p99", "max"));
+        TIMERS.forEach((name, timer) -> {
+            LatencyHistogram histogram = timer.histogram();
+            if (histogram.count() == 0) return;
+            text.append(String.format("%-28s %9d %10.3f %10.3f %10.3f %10.3f%n", name, histogram.count(),
+                    millis(histogram.percentile(50)), millis(histogram.percentile(90)),
+                    millis(histogram.percentile(99)), millis(histogram.max())));
+        });
+        new ConcurrentSkipListMap<>(COUNTERS).forEach((name, counter) ->
+                text.append(String.format("%-28s %9d%n", name, counter.sum())));
+        return text.toString();
+    }
+
+    /** Writes {@link #report()} to {@code file}. */
+    public static void dump(Path file) {
+        try {
+            Files.writeString(file, report(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write metrics to " + file, e);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
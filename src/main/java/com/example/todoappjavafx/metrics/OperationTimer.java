@@ -0,0 +1,51 @@
+package com.example.todoappjavafx.metrics;
+
+/**
+ * Latency histogram of one named operation, fed by {@link #start()} / {@link #stop(long)} pairs.
+ * Each stop is also committed as a {@link TaskOperationEvent} while a JFR recording is running.
+ *
+ * <pre>
+ * long start = TIMER.start();
+ * ...
+ * TIMER.stop(start);
+ * </pre>
+ */
+public final class OperationTimer {
+
+    private final String name;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    OperationTimer(String name) {
+        this.name = name;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public LatencyHistogram histogram() {
+        return histogram;
+    }
+
+    public long start() {
+        return System.nanoTime();
+    }
+
+    public void stop(long start) {
+        stop(start, 1);
+    }
+
+    /** Records the time since {@code start} for an operation on {@code items} tasks. */
+    public void stop(long start, int items) {
+        long took = System.nanoTime() - start;
+        histogram.record(took);
+
+        TaskOperationEvent event = new TaskOperationEvent();
+        if (event.isEnabled()) {
+            event.operation = name;
+            event.took = took;
+            event.items = items;
+            event.commit();
+        }
+    }
+}
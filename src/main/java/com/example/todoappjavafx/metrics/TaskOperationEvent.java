@@ -0,0 +1,33 @@
+package com.example.todoappjavafx.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for every timed operation, so a recording shows repository, service and UI
+ * work next to GC and I/O. Start a recording with e.g.
+ * {@code -XX:StartFlightRecording=filename=todo.jfr} or {@code jcmd <pid> JFR.start}.
+ */
+@Name("com.example.todoappjavafx.TaskOperation")
+@Label("Task Operation")
+@Category("TodoApp")
+@Description("A timed repository, service or UI operation")
+@StackTrace(false)
+public class TaskOperationEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Took")
+    @Timespan(Timespan.NANOSECONDS)
+    public long took;
+
+    @Label("Items")
+    @Description("Tasks handled by the operation, where it is a batch")
+    public int items;
+}
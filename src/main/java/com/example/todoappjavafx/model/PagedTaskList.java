@@ -0,0 +1,194 @@
+package com.example.todoappjavafx.model;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * A read-only list of tasks that only holds the pages around the viewport.
+ *
+ * {@link #size()} is the size of the whole (filtered) list, but a row is only
+ * loaded when it is first read: {@link #get(int)} returns null for a row
+ * whose page is not loaded yet and asks the {@link PageLoader} for that page.
+ * Once the page arrives its rows are reported as replaced, so the list view
+ * redraws them. At most {@code maxPages} pages are kept; the ones farthest
+ * from the last page read are dropped and reported as replaced by placeholders
+ * until they are loaded again.
+ *
+ * A {@link #refresh()} of the same list reloads the page last read and reports only what changed:
+ * the rows that were loaded as replaced, and rows past the old or new end as
+ * added or removed. Selection and scroll position stay where they were.
+ *
+ * A page that fails to load keeps its placeholders and is asked for again the
+ * next time one of its rows is read; the failure handler hears of the first
+ * failure after each successful load.
+ *
+ * Must only be used on the JavaFX Application Thread.
+ */
+public class PagedTaskList extends ObservableListBase<Task> {
+
+    /** Loads the rows {@code offset} to {@code offset + limit} of the list, off the FX thread. */
+    @FunctionalInterface
+    public interface PageLoader {
+        CompletableFuture<TaskPage> load(int offset, int limit);
+    }
+
+    private final int pageSize;
+    private final int maxPages;
+    private final Map<Integer, List<Task>> pages = new HashMap<>();
+    private final Set<Integer> loading = new HashSet<>();
+
+    private PageLoader loader;
+    private Consumer<Throwable> failureHandler = error -> { };
+    private boolean failureReported;
+    private int size;
+    private long generation; // Bumped on every reload, so pages of an older list are dropped
+    private int lastPage;
+
+    public PagedTaskList(int pageSize, int maxPages) {
+        this.pageSize = pageSize;
+        this.maxPages = Math.max(2, maxPages);
+    }
+
+    /** Shows a different list (e.g. a new filter) from the top; its first page replaces every row when it arrives. */
+    public void setLoader(PageLoader loader) {
+        this.loader = loader;
+        reload(0, true);
+    }
+
+    /** Told on the FX thread when a page cannot be loaded, e.g. to show the error. */
+    public void setFailureHandler(Consumer<Throwable> failureHandler) {
+        this.failureHandler = failureHandler;
+    }
+
+    /** Reloads the current list around the last page read, e.g. after tasks were added or deleted. */
+    public void refresh() {
+        reload(lastPage, false);
+    }
+
+    private void reload(int reloaded, boolean newList) {
+        if (loader == null) return;
+        long ticket = ++generation;
+        loading.clear();
+        loader.load(reloaded * pageSize, pageSize).whenCompleteAsync((page, error) -> {
+            if (ticket != generation) return;
+            if (error != null) {
+                failed(error);
+                return;
+            }
+            failureReported = false;
+            int oldSize = size;
+            Set<Integer> shown = new HashSet<>(pages.keySet());
+            shown.add(reloaded);
+            pages.clear();
+            pages.put(reloaded, page.tasks());
+            lastPage = reloaded;
+            size = page.total();
+
+            beginChange();
+            if (newList) {
+                nextRemove(0, Collections.nCopies(oldSize, (Task) null));
+                nextAdd(0, size);
+            } else {
+                // Of the rows that stay, only those that were loaded can be on screen
+                int kept = Math.min(oldSize, size);
+                for (int shownPage : shown) {
+                    replaceRows(shownPage, kept);
+                }
+                if (size > oldSize) {
+                    nextAdd(oldSize, size);
+                } else if (size < oldSize) {
+                    nextRemove(size, Collections.nCopies(oldSize - size, (Task) null));
+                }
+            }
+            endChange();
+        }, Platform::runLater);
+    }
+
+    /** Reports the rows of {@code page} below {@code end} as replaced; only between beginChange() and endChange(). */
+    private void replaceRows(int page, int end) {
+        int from = page * pageSize;
+        int to = Math.min(end, from + pageSize);
+        if (from < to) nextReplace(from, to, Collections.nCopies(to - from, (Task) null));
+    }
+
+    @Override
+    public Task get(int index) {
+        Objects.checkIndex(index, size);
+        int page = index / pageSize;
+        lastPage = page;
+        List<Task> tasks = pages.get(page);
+        if (tasks == null) {
+            load(page);
+            return null;
+        }
+        int row = index - page * pageSize;
+        return row < tasks.size() ? tasks.get(row) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** Pages currently held, for diagnostics. */
+    public int loadedPages() {
+        return pages.size();
+    }
+
+    private void load(int page) {
+        if (loader == null || !loading.add(page)) return;
+        long ticket = generation;
+        loader.load(page * pageSize, pageSize).whenCompleteAsync((result, error) -> {
+            if (ticket != generation) return;
+            loading.remove(page); // Also after a failure, so the page is asked for again
+            if (error != null) {
+                failed(error);
+                return;
+            }
+            failureReported = false;
+            if (result.total() != size) {
+                refresh(); // The list grew or shrank since it was sized, so offsets have moved
+                return;
+            }
+            pages.put(page, result.tasks());
+
+            beginChange();
+            replaceRows(page, size);
+            evictFarPages();
+            endChange();
+        }, Platform::runLater);
+    }
+
+    /** Reports a failed load, unless it was cancelled or the failures since the last success were reported. */
+    private void failed(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof CancellationException || failureReported) return;
+        failureReported = true;
+        failureHandler.accept(cause);
+    }
+
+    /** Drops the pages farthest from the last one read; only between beginChange() and endChange(). */
+    private void evictFarPages() {
+        while (pages.size() > maxPages) {
+            int farthest = lastPage;
+            for (int page : pages.keySet()) {
+                if (Math.abs(page - lastPage) > Math.abs(farthest - lastPage)) farthest = page;
+            }
+            if (farthest == lastPage) return;
+            pages.remove(farthest);
+            replaceRows(farthest, size); // Read back as placeholders from now on
+        }
+    }
+}
@@ -1,13 +1,30 @@
 package com.example.todoappjavafx.model;
 
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 
 /**
  * Represents a single task in the TODO application.
  * Immutable ID ensures consistency across saves and reloads.
+ *
+ * As an {@link Observable}, a task tells its listeners whenever any field changes,
+ * so a view can follow one task without creating any of its properties. A task
+ * belongs to one thread at a time: the UI edits its own instances and the store
+ * only ever sees {@link #copy() copies}.
  */
-public class Task {
+public class Task implements Observable {
 
     private final String id;
     private String title;
@@ -16,6 +33,14 @@ public class Task {
     private LocalDate dueDate;
     private boolean completed;
 
+    // Lazily created JavaFX properties; transient so reflective serialization skips them
+    private transient StringProperty titleProperty;
+    private transient StringProperty descriptionProperty;
+    private transient ObjectProperty<Priority> priorityProperty;
+    private transient ObjectProperty<LocalDate> dueDateProperty;
+    private transient BooleanProperty completedProperty;
+    private transient List<InvalidationListener> listeners; // Created for the first listener
+
     public Task(String title, String description, Priority priority, LocalDate dueDate) {
         this.id = UUID.randomUUID().toString();
         this.title = title;
@@ -36,61 +61,158 @@ public class Task {
     }
 
     // --- Getters & Setters ---
+    // Values live in the plain fields until a property is asked for; from then on the property holds them
     public String getId() {
         return id;
     }
 
     public String getTitle() {
-        return title;
+        return titleProperty != null ? titleProperty.get() : title;
     }
 
     public void setTitle(String title) {
-        this.title = title;
+        if (titleProperty != null) {
+            titleProperty.set(title); // The property's own listener notifies
+        } else if (!Objects.equals(this.title, title)) {
+            this.title = title;
+            changed();
+        }
     }
 
     public String getDescription() {
-        return description;
+        return descriptionProperty != null ? descriptionProperty.get() : description;
     }
 
     public void setDescription(String description) {
-        this.description = description;
+        if (descriptionProperty != null) {
+            descriptionProperty.set(description);
+        } else if (!Objects.equals(this.description, description)) {
+            this.description = description;
+            changed();
+        }
     }
 
     public Priority getPriority() {
-        return priority;
+        return priorityProperty != null ? priorityProperty.get() : priority;
     }
 
     public void setPriority(Priority priority) {
-        this.priority = priority;
+        if (priorityProperty != null) {
+            priorityProperty.set(priority);
+        } else if (!Objects.equals(this.priority, priority)) {
+            this.priority = priority;
+            changed();
+        }
     }
 
     public LocalDate getDueDate() {
-        return dueDate;
+        return dueDateProperty != null ? dueDateProperty.get() : dueDate;
     }
 
     public void setDueDate(LocalDate dueDate) {
-        this.dueDate = dueDate;
+        if (dueDateProperty != null) {
+            dueDateProperty.set(dueDate);
+        } else if (!Objects.equals(this.dueDate, dueDate)) {
+            this.dueDate = dueDate;
+            changed();
+        }
     }
 
     public boolean isCompleted() {
-        return completed;
+        return completedProperty != null ? completedProperty.get() : completed;
     }
 
     public void setCompleted(boolean completed) {
-        this.completed = completed;
+        if (completedProperty != null) {
+            completedProperty.set(completed);
+        } else if (this.completed != completed) {
+            this.completed = completed;
+            changed();
+        }
+    }
+
+    // --- JavaFX properties ---
+    // Created on first use, so tasks that are never bound cost no more than before.
+    // Changes made through a property reach the task's listeners as well.
+    public StringProperty titleProperty() {
+        if (titleProperty == null) {
+            titleProperty = new SimpleStringProperty(this, "title", title);
+            titleProperty.addListener((obs, oldValue, newValue) -> changed());
+        }
+        return titleProperty;
+    }
+
+    public StringProperty descriptionProperty() {
+        if (descriptionProperty == null) {
+            descriptionProperty = new SimpleStringProperty(this, "description", description);
+            descriptionProperty.addListener((obs, oldValue, newValue) -> changed());
+        }
+        return descriptionProperty;
+    }
+
+    public ObjectProperty<Priority> priorityProperty() {
+        if (priorityProperty == null) {
+            priorityProperty = new SimpleObjectProperty<>(this, "priority", priority);
+            priorityProperty.addListener((obs, oldValue, newValue) -> changed());
+        }
+        return priorityProperty;
+    }
+
+    public ObjectProperty<LocalDate> dueDateProperty() {
+        if (dueDateProperty == null) {
+            dueDateProperty = new SimpleObjectProperty<>(this, "dueDate", dueDate);
+            dueDateProperty.addListener((obs, oldValue, newValue) -> changed());
+        }
+        return dueDateProperty;
+    }
+
+    public BooleanProperty completedProperty() {
+        if (completedProperty == null) {
+            completedProperty = new SimpleBooleanProperty(this, "completed", completed);
+            completedProperty.addListener((obs, oldValue, newValue) -> changed());
+        }
+        return completedProperty;
+    }
+
+    // --- Change notification ---
+
+    /** Called after any field changed; the listener reads the new values through the getters. */
+    @Override
+    public void addListener(InvalidationListener listener) {
+        if (listeners == null) listeners = new ArrayList<>(1);
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(InvalidationListener listener) {
+        if (listeners == null) return;
+        listeners.remove(listener);
+        if (listeners.isEmpty()) listeners = null;
+    }
+
+    private void changed() {
+        if (listeners == null) return;
+        for (InvalidationListener listener : List.copyOf(listeners)) {
+            listener.invalidated(this);
+        }
     }
 
     // --- Convenience methods ---
     public void toggleCompletion() {
-        this.completed = !this.completed;
+        setCompleted(!isCompleted());
+    }
+
+    /** The same task with its current values, without properties or listeners. */
+    public Task copy() {
+        return new Task(id, getTitle(), getDescription(), getPriority(), getDueDate(), isCompleted());
     }
 
     @Override
     public String toString() {
         return String.format("[%s] %s (%s, due: %s)",
-                completed ? "✔" : " ",
-                title,
-                priority,
-                dueDate != null ? dueDate : "N/A");
+                isCompleted() ? "✔" : " ",
+                getTitle(),
+                getPriority(),
+                getDueDate() != null ? getDueDate() : "N/A");
     }
 }
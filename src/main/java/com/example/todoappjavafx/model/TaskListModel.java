@@ -0,0 +1,161 @@
+package com.example.todoappjavafx.model;
+
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * The tasks shown by the main view, kept as one master list with live derived views.
+ *
+ * {@link #getVisibleTasks()} is a {@link SortedList} over a {@link FilteredList} of
+ * the master list, so changing the filter or sort order never reloads anything, and
+ * replacing one task only re-filters and re-renders that one row. Each task's index
+ * in the master list is kept by id, so an edit finds its row without a scan. The
+ * completion counters follow the visible list's change events, so they are adjusted
+ * per changed row rather than recounted.
+ *
+ * Must only be used on the JavaFX Application Thread.
+ */
+public class TaskListModel {
+
+    // Above this many tasks, a batch is cheaper as one list replacement
+    private static final int BATCH_THRESHOLD = 64;
+
+    private final ObservableList<Task> master = FXCollections.observableArrayList();
+    private final Map<String, Integer> indexById = new HashMap<>();
+    private final FilteredList<Task> filtered = new FilteredList<>(master);
+    private final SortedList<Task> sorted = new SortedList<>(filtered);
+
+    // Ids of the visible tasks counted as completed; tasks are edited in place, so the
+    // completed flag at the time a row was counted cannot be read back from the task
+    private final Set<String> completedVisible = new HashSet<>();
+    private final ReadOnlyIntegerWrapper visibleCount = new ReadOnlyIntegerWrapper();
+    private final ReadOnlyIntegerWrapper completedCount = new ReadOnlyIntegerWrapper();
+
+    public TaskListModel() {
+        filtered.addListener(this::countChanges);
+    }
+
+    // --- Views ---
+
+    /** The filtered and sorted tasks, for the list view. */
+    public ObservableList<Task> getVisibleTasks() {
+        return sorted;
+    }
+
+    public void setFilter(Predicate<Task> filter) {
+        filtered.setPredicate(filter);
+    }
+
+    /** Sort order of the visible tasks; null keeps the order they were loaded or added in. */
+    public void setComparator(Comparator<Task> comparator) {
+        sorted.setComparator(comparator);
+    }
+
+    public Task get(String id) {
+        Integer index = indexById.get(id);
+        return index != null ? master.get(index) : null;
+    }
+
+    // --- Changes ---
+
+    /** Replaces everything, e.g. after the initial load. */
+    public void setAll(List<Task> tasks) {
+        indexById.clear();
+        List<Task> unique = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            if (indexById.putIfAbsent(task.getId(), unique.size()) == null) unique.add(task);
+        }
+        master.setAll(unique);
+    }
+
+    /** Appends tasks that are not in the list yet, e.g. the next chunk of the initial load. */
+    public void addAll(List<Task> tasks) {
+        List<Task> added = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            if (indexById.putIfAbsent(task.getId(), master.size() + added.size()) == null) added.add(task);
+        }
+        master.addAll(added);
+    }
+
+    /** Adds a new task, or re-evaluates an edited one in place (filter, sort position and counters). */
+    public void upsert(Task task) {
+        Integer index = indexById.putIfAbsent(task.getId(), master.size());
+        if (index == null) {
+            master.add(task);
+        } else {
+            master.set(index, task);
+        }
+    }
+
+    /** {@link #upsert} for many tasks; large batches are applied as one list change instead of one per task. */
+    public void upsertAll(Collection<Task> tasks) {
+        if (tasks.size() <= BATCH_THRESHOLD) {
+            tasks.forEach(this::upsert);
+            return;
+        }
+        List<Task> rebuilt = new ArrayList<>(master);
+        for (Task task : tasks) {
+            Integer index = indexById.putIfAbsent(task.getId(), rebuilt.size());
+            if (index == null) {
+                rebuilt.add(task);
+            } else {
+                rebuilt.set(index, task);
+            }
+        }
+        master.setAll(rebuilt);
+    }
+
+    /** Removes the tasks in one pass; the rows after the first removed one are renumbered once. */
+    public void removeAll(Collection<String> ids) {
+        int first = master.size();
+        for (String id : ids) {
+            Integer index = indexById.get(id);
+            if (index != null) first = Math.min(first, index);
+        }
+        if (first == master.size()) return;
+        Set<String> removed = new HashSet<>(ids);
+        removed.forEach(indexById::remove);
+        master.removeIf(task -> removed.contains(task.getId()));
+        for (int i = first; i < master.size(); i++) {
+            indexById.put(master.get(i).getId(), i);
+        }
+    }
+
+    // --- Counters ---
+
+    private void countChanges(ListChangeListener.Change<? extends Task> change) {
+        while (change.next()) {
+            for (Task task : change.getRemoved()) {
+                completedVisible.remove(task.getId());
+            }
+            for (Task task : change.getAddedSubList()) {
+                if (task.isCompleted()) completedVisible.add(task.getId());
+            }
+        }
+        visibleCount.set(filtered.size());
+        completedCount.set(completedVisible.size());
+    }
+
+    public ReadOnlyIntegerProperty visibleCountProperty() {
+        return visibleCount.getReadOnlyProperty();
+    }
+
+    public ReadOnlyIntegerProperty completedCountProperty() {
+        return completedCount.getReadOnlyProperty();
+    }
+}
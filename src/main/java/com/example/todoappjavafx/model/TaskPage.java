@@ -0,0 +1,21 @@
+package com.example.todoappjavafx.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One slice of a (possibly filtered) task list.
+ *
+ * @param tasks  the tasks from {@code offset} on, at most the requested page size
+ * @param offset index of the first task in the whole list
+ * @param total  size of the whole list when the page was read
+ */
+public record TaskPage(List<Task> tasks, int offset, int total) {
+
+    /** The page of an already materialized list. */
+    public static TaskPage slice(List<Task> all, int offset, int limit) {
+        int from = Math.min(offset, all.size());
+        int to = Math.min(all.size(), from + limit);
+        return new TaskPage(new ArrayList<>(all.subList(from, to)), offset, all.size());
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.todoappjavafx.model;
+
+/**
+ * A named task list as listed in the workspace manifest: enough to show it in
+ * the sidebar without opening its store.
+ *
+ * @param name           the name shown to the user, unique ignoring case
+ * @param file           the list's task file, relative to the data directory
+ * @param taskCount      number of tasks in the store when the list was last open
+ * @param completedCount how many of them were completed
+ * @param archivedCount  number of (completed) tasks moved to the list's archive
+ */
+public record WorkspaceSummary(String name, String file, long taskCount, long completedCount, long archivedCount) {
+
+    /** Completed share from 0 to 1, archived tasks included; 0 for an empty list. */
+    public double progress() {
+        long total = taskCount + archivedCount;
+        return total == 0 ? 0 : (double) (completedCount + archivedCount) / total;
+    }
+
+    public WorkspaceSummary withCounts(long taskCount, long completedCount, long archivedCount) {
+        return new WorkspaceSummary(name, file, taskCount, completedCount, archivedCount);
+    }
+}
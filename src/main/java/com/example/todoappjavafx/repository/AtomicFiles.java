@@ -0,0 +1,95 @@
+package com.example.todoappjavafx.repository;
+
+import com.example.todoappjavafx.metrics.Metrics;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Crash-safe file replacement: content goes to a sibling temp file, is forced
+ * to disk according to the {@link Durability} level and is then renamed over
+ * the target, so readers only ever see the old or the new file. With
+ * {@link Durability#NONE} that holds only while the OS keeps running.
+ */
+final class AtomicFiles {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @FunctionalInterface
+    interface Content {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private AtomicFiles() {
+    }
+
+    static Path tempFor(Path target) {
+        return target.resolveSibling(target.getFileName() + ".tmp");
+    }
+
+    static Path backupFor(Path target) {
+        return target.resolveSibling(target.getFileName() + ".bak");
+    }
+
+    /**
+     * Replaces {@code target} with the given content.
+     * @param keepBackup keep the previous version as {@code <target>.bak} for startup recovery
+     */
+    static void write(Path target, Durability durability, boolean keepBackup, Content content) throws IOException {
+        Path temp = tempFor(target);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            // Not closed here: closing the stream would close the channel before force()
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+            content.writeTo(out);
+            out.flush();
+            Metrics.counter(Metrics.BYTES_WRITTEN).add(channel.position());
+            if (durability != Durability.NONE) {
+                channel.force(true);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        if (keepBackup && Files.exists(target)) {
+            keepBackup(target);
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (durability == Durability.DATA_AND_DIRECTORY) {
+            syncDirectory(target.toAbsolutePath().getParent());
+        }
+    }
+
+    /** Hard-links the current file as the backup (falls back to a copy where links are unsupported). */
+    private static void keepBackup(Path target) throws IOException {
+        Path backup = backupFor(target);
+        Files.deleteIfExists(backup);
+        try {
+            Files.createLink(backup, target);
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(target, backup, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    static void syncDirectory(Path directory) {
+        if (directory == null) return;
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Some platforms (e.g. Windows) cannot open or sync a directory; the file itself is already synced
+        }
+    }
+}
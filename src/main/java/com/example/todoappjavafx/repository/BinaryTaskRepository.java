@@ -0,0 +1,42 @@
+package com.example.todoappjavafx.repository;
+
+import com.example.todoappjavafx.model.Task;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Repository that persists tasks in the compact {@link TaskBinaryFormat}.
+ * Behaves like {@link JsonTaskRepository} (cached, atomic saves, backup
+ * recovery); only the file format differs. Use {@link TaskFileConverter} to
+ * migrate from or export to JSON.
+ */
+public class BinaryTaskRepository extends FileTaskRepository {
+
+    public BinaryTaskRepository(String filePath) {
+        this(filePath, Durability.DATA);
+    }
+
+    public BinaryTaskRepository(String filePath, Durability durability) {
+        super(Path.of(filePath), durability);
+        initializeFile();
+    }
+
+    @Override
+    protected void readTasks(Path path, Consumer<Task> action) throws IOException {
+        TaskBinaryFormat.forEach(path, action);
+    }
+
+    @Override
+    protected void writeTasks(OutputStream out, Collection<Task> tasks) throws IOException {
+        TaskBinaryFormat.write(out, tasks);
+    }
+
+    @Override
+    protected String formatName() {
+        return "binary";
+    }
+}
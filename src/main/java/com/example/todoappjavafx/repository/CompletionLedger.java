@@ -0,0 +1,91 @@
+package com.example.todoappjavafx.repository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The day each completed task was first seen completed, kept next to the store as
+ * one {@code <id> <yyyy-mm-dd>} line per task.
+ *
+ * Tasks themselves carry no completion time, and adding one would change every
+ * store format; the archive policy only needs a day, so it is recorded here instead.
+ */
+public final class CompletionLedger {
+
+    private final Path file;
+    private final Durability durability;
+    private final Map<String, LocalDate> completedOn = new HashMap<>();
+    private boolean dirty;
+    private boolean saved;
+
+    public CompletionLedger(Path file, Durability durability) {
+        this.file = file;
+        this.durability = durability;
+        if (Files.notExists(file)) return;
+        saved = true;
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int space = line.lastIndexOf(' ');
+                if (space > 0) completedOn.put(line.substring(0, space), LocalDate.parse(line.substring(space + 1)));
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new RuntimeException("Failed to read completion ledger " + file, e);
+        }
+    }
+
+    /** The day {@code id} was first seen completed, or null if it is not recorded. */
+    public synchronized LocalDate completedOn(String id) {
+        return completedOn.get(id);
+    }
+
+    /** True until the ledger is first written, i.e. while the store's completed tasks predate it. */
+    public synchronized boolean isNew() {
+        return !saved;
+    }
+
+    /** Records {@code day} unless the task already has a completion day. */
+    public synchronized void completed(String id, LocalDate day) {
+        if (completedOn.putIfAbsent(id, day) == null) dirty = true;
+    }
+
+    /** Forgets the task, e.g. when it is reopened, deleted or archived. */
+    public synchronized void forget(String id) {
+        if (completedOn.remove(id) != null) dirty = true;
+    }
+
+    /** Forgets every task not in {@code ids}, e.g. entries left behind by a crash. */
+    public synchronized void retainAll(Set<String> ids) {
+        if (completedOn.keySet().retainAll(ids)) dirty = true;
+    }
+
+    /** Writes the ledger if it changed since it was loaded or last saved. */
+    public synchronized void save() {
+        if (!dirty) return;
+        try {
+            AtomicFiles.write(file, durability, false, out -> {
+                Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+                for (Map.Entry<String, LocalDate> entry : completedOn.entrySet()) {
+                    writer.write(entry.getKey());
+                    writer.write(' ');
+                    writer.write(entry.getValue().toString());
+                    writer.write('\n');
+                }
+                writer.flush();
+            });
+            dirty = false;
+            saved = true;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to save completion ledger " + file, e);
+        }
+    }
+}
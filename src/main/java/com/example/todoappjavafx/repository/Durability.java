@@ -0,0 +1,36 @@
+package com.example.todoappjavafx.repository;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * How hard a repository tries to get a write onto stable storage before returning.
+ * Stronger levels survive power loss at the cost of write latency.
+ * Picked with the {@code todo.durability} system property.
+ */
+public enum Durability {
+    /**
+     * Leave flushing to the OS. Safe against the application crashing, but after a power loss
+     * or OS crash the rename may have reached the disk before the data, leaving an empty or
+     * partly written file; file stores then fall back to their backup if it is intact.
+     */
+    NONE,
+    /** fsync the written file. */
+    DATA,
+    /** fsync the written file and its parent directory, so the rename itself is durable. */
+    DATA_AND_DIRECTORY;
+
+    public static final String PROPERTY = "todo.durability";
+
+    public static Durability fromSystemProperty() {
+        String value = System.getProperty(PROPERTY);
+        if (value == null || value.isBlank()) return DATA;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown " + PROPERTY + " \"" + value + "\", using " + DATA
+                    + " (expected one of " + Arrays.toString(values()) + ")");
+            return DATA;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.todoappjavafx.repository;
+
+import com.example.todoappjavafx.metrics.Metrics;
+import com.example.todoappjavafx.model.Task;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Base class for repositories that keep all tasks in a single file.
+ *
+ * The file is read once into a write-through cache indexed by task id; reads
+ * are served from memory and every mutation persists the whole cache with a
+ * single atomic write (temp file + fsync + rename). The cache is reloaded only
+ * when the file's modification time or size no longer match what this
+ * repository last saw, i.e. when the file was changed by someone else. On
+ * startup a damaged file is replaced by the last good backup.
+ *
+ * Subclasses only provide the file format.
+ */
+abstract class FileTaskRepository implements Repository<Task> {
+
+    protected final Path filePath;
+    private final Durability durability;
+
+    // Insertion-ordered so findAll() keeps the file order
+    private final Map<String, Task> cache = new LinkedHashMap<>();
+    private FileTime cachedModifiedTime; // null means the cache is stale
+    private long cachedSize = -1;
+    private boolean loaded;
+    private volatile Runnable externalChangeListener = () -> { };
+
+    protected FileTaskRepository(Path filePath, Durability durability) {
+        this.filePath = filePath;
+        this.durability = durability;
+    }
+
+    /** Reads every task in the file, in order. */
+    protected abstract void readTasks(Path path, Consumer<Task> action) throws IOException;
+
+    /** Writes the tasks in this repository's format. */
+    protected abstract void writeTasks(OutputStream out, Collection<Task> tasks) throws IOException;
+
+    /** Human-readable format name for error messages. */
+    protected abstract String formatName();
+
+    /** Must be called once by the subclass constructor, after its own fields are set. */
+    protected void initializeFile() {
+        try {
+            if (filePath.getParent() != null && Files.notExists(filePath.getParent())) {
+                Files.createDirectories(filePath.getParent());
+            }
+            Files.deleteIfExists(AtomicFiles.tempFor(filePath)); // Leftover of an interrupted save
+            if (Files.notExists(filePath)) {
+                saveTasks(new ArrayList<>()); // Write empty list to start
+            } else if (Files.size(filePath) == 0 || !tryLoad()) {
+                // An empty file is treated as damaged: every format writes something even for no tasks
+                recoverFromBackup();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to initialize task repository file.", e);
+        }
+    }
+
+    /** Fills the cache from the file; returns false if the file cannot be parsed. */
+    private boolean tryLoad() {
+        try {
+            tasks();
+            return true;
+        } catch (RuntimeException e) {
+            remember(null);
+            return false;
+        }
+    }
+
+    private boolean isReadable(Path path) {
+        try {
+            if (Files.size(path) == 0) return false;
+            readTasks(path, task -> { });
+            return true;
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /** Puts the last good version back in place, or fails loudly rather than starting with an empty list. */
+    private void recoverFromBackup() throws IOException {
+        Path backup = AtomicFiles.backupFor(filePath);
+        if (Files.exists(backup) && isReadable(backup)) {
+            System.err.println("Task file " + filePath + " is damaged, restoring " + backup);
+            AtomicFiles.write(filePath, durability, false, out -> Files.copy(backup, out));
+            return;
+        }
+        throw new IOException("Task file " + filePath + " is damaged and no usable backup exists.");
+    }
+
+    /** Returns the cached tasks, reloading them only if the file changed on disk. */
+    private Map<String, Task> tasks() {
+        BasicFileAttributes attributes = readAttributes();
+        if (cachedModifiedTime == null || attributes == null
+                || !cachedModifiedTime.equals(attributes.lastModifiedTime())
+                || cachedSize != attributes.size()) {
+            cache.clear();
+            loadTasks();
+            remember(attributes);
+            if (attributes != null) Metrics.counter(Metrics.BYTES_READ).add(attributes.size());
+            // Any reload after the first may bring tasks that layers above have not seen
+            if (loaded) externalChangeListener.run();
+            loaded = true;
+        }
+        return cache;
+    }
+
+    @Override
+    public void setExternalChangeListener(Runnable listener) {
+        this.externalChangeListener = listener;
+    }
+
+    /** One stat of the file, plus a reload if it changed. */
+    @Override
+    public synchronized void checkForExternalChanges() {
+        tasks();
+    }
+
+    /** Streams the file straight into the cache, without an intermediate list. */
+    private void loadTasks() {
+        try {
+            readTasks(filePath, task -> cache.put(task.getId(), task));
+        } catch (IOException e) {
+            // Handle file not found gracefully on first load
+            if (e instanceof NoSuchFileException || Files.notExists(filePath)) {
+                return;
+            }
+            throw new RuntimeException("Failed to load tasks from " + formatName() + " file.", e);
+        }
+    }
+
+    private void saveTasks(Collection<Task> tasks) {
+        try {
+            AtomicFiles.write(filePath, durability, true, out -> writeTasks(out, tasks));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to save tasks to " + formatName() + " file.", e);
+        }
+    }
+
+    /**
+     * Applies a change to a copy of the cached tasks and persists it with a single write.
+     * The cache is only replaced once the write succeeded, so a change lands completely or not at all.
+     */
+    private void mutate(Consumer<Map<String, Task>> change) {
+        Map<String, Task> next = new LinkedHashMap<>(tasks());
+        change.accept(next);
+        try {
+            saveTasks(next.values());
+        } catch (RuntimeException e) {
+            remember(null); // The file state is uncertain: reload on next access
+            throw e;
+        }
+        cache.clear();
+        cache.putAll(next);
+        remember(readAttributes());
+    }
+
+    private BasicFileAttributes readAttributes() {
+        try {
+            return Files.readAttributes(filePath, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void remember(BasicFileAttributes attributes) {
+        cachedModifiedTime = attributes != null ? attributes.lastModifiedTime() : null;
+        cachedSize = attributes != null ? attributes.size() : -1;
+    }
+
+    @Override
+    public synchronized void save(Task task) {
+        mutate(tasks -> tasks.put(task.getId(), task));
+    }
+
+    @Override
+    public synchronized void update(Task updatedTask) {
+        if (tasks().containsKey(updatedTask.getId())) {
+            mutate(tasks -> tasks.put(updatedTask.getId(), updatedTask));
+        }
+    }
+
+    @Override
+    public synchronized void delete(String id) {
+        if (tasks().containsKey(id)) {
+            mutate(tasks -> tasks.remove(id));
+        }
+    }
+
+    @Override
+    public synchronized void saveAll(Collection<Task> newTasks) {
+        if (newTasks.isEmpty()) return;
+        mutate(tasks -> newTasks.forEach(task -> tasks.put(task.getId(), task)));
+    }
+
+    @Override
+    public synchronized void updateAll(Collection<Task> updatedTasks) {
+        if (updatedTasks.isEmpty()) return;
+        mutate(tasks -> updatedTasks.forEach(task -> tasks.replace(task.getId(), task)));
+    }
+
+    @Override
+    public synchronized void deleteAll(Collection<String> ids) {
+        if (ids.isEmpty()) return;
+        mutate(tasks -> ids.forEach(tasks::remove));
+    }
+
+    @Override
+    public synchronized Optional<Task> findById(String id) {
+        return Optional.ofNullable(tasks().get(id));
+    }
+
+    @Override
+    public synchronized List<Task> findAll() {
+        return new ArrayList<>(tasks().values());
+    }
+}
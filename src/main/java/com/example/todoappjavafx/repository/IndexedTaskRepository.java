@@ -0,0 +1,352 @@
+package com.example.todoappjavafx.repository;
+
+import com.example.todoappjavafx.model.Priority;
+import com.example.todoappjavafx.model.Task;
+import com.example.todoappjavafx.model.TaskPage;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * In-memory layer with secondary indexes over another repository.
+ *
+ * Keeps a bucket per {@link Priority}, a {@link TreeMap} keyed by due date for
+ * range queries, a completed {@link BitSet} plus counter and a
+ * {@link TaskSearchIndex} over titles and descriptions, all updated
+ * incrementally as tasks are saved, updated and deleted. Writes go to the
+ * underlying repository first and are only indexed once they succeeded.
+ * Tasks are kept in an array in {@code findAll()} order, with deleted ones left
+ * as holes until the next page read, so a page is a slice of that array.
+ *
+ * The underlying repository is read at construction; from then on this layer is
+ * the source of truth for reads. Every call first asks the repository to look for
+ * changes made from outside (for a file store, one stat of the file), and the
+ * indexes are rebuilt when it reports any.
+ */
+public class IndexedTaskRepository implements Repository<Task>, TaskQueries, AutoCloseable {
+
+    /** Index keys as they were when a task was last indexed; tasks are mutated in place before update(). */
+    private static final class Entry {
+        int position; // In byPosition, and the bit in completed
+        Task task;
+        Priority priority;
+        LocalDate dueDate;
+        boolean completed;
+
+        Entry(int position) {
+            this.position = position;
+        }
+    }
+
+    private final Repository<Task> delegate;
+    private final TaskSearchIndex searchIndex;
+
+    private final Map<String, Entry> byId = new HashMap<>();
+    private final EnumMap<Priority, Map<String, Task>> byPriority = new EnumMap<>(Priority.class);
+    private final NavigableMap<LocalDate, Map<String, Task>> byDueDate = new TreeMap<>();
+    private final BitSet completed = new BitSet();
+    private List<Entry> byPosition = new ArrayList<>(); // null where a task was deleted
+    private int holes;
+    private long completedCount;
+    private volatile boolean stale; // Set from whatever thread the underlying repository reloads on
+
+    // Ids matching the last filtered page request; a scrolling list asks for one page after
+    // another of the same filter, so the matches are only collected again after a change
+    private String matchedQuery;
+    private Priority matchedPriority;
+    private List<String> matchedIds;
+
+    public IndexedTaskRepository(Repository<Task> delegate) {
+        this(delegate, new TaskSearchIndex());
+    }
+
+    /** @param searchIndex a possibly saved search index; it is brought up to date with the tasks here */
+    public IndexedTaskRepository(Repository<Task> delegate, TaskSearchIndex searchIndex) {
+        this.delegate = delegate;
+        this.searchIndex = searchIndex;
+        for (Priority priority : Priority.values()) {
+            byPriority.put(priority, new LinkedHashMap<>());
+        }
+        delegate.setExternalChangeListener(() -> stale = true);
+        load();
+    }
+
+    // --- Index maintenance ---
+
+    private void load() {
+        delegate.findAll().forEach(this::index);
+        searchIndex.retainAll(byId.keySet());
+    }
+
+    /** Starts over from the underlying repository if it reloaded changes made elsewhere. */
+    private void refreshIfStale() {
+        delegate.checkForExternalChanges();
+        if (!stale) return;
+        stale = false;
+        matchedIds = null;
+        byId.clear();
+        byPriority.values().forEach(Map::clear);
+        byDueDate.clear();
+        completed.clear();
+        byPosition = new ArrayList<>();
+        holes = 0;
+        completedCount = 0;
+        load();
+    }
+
+    private void index(Task task) {
+        matchedIds = null;
+        Entry entry = byId.get(task.getId());
+        if (entry == null) {
+            entry = new Entry(byPosition.size());
+            byPosition.add(entry);
+            byId.put(task.getId(), entry);
+        } else {
+            unindexKeys(entry);
+        }
+        entry.task = task;
+        entry.priority = task.getPriority();
+        entry.dueDate = task.getDueDate();
+        entry.completed = task.isCompleted();
+
+        if (entry.priority != null) {
+            byPriority.get(entry.priority).put(task.getId(), task);
+        }
+        if (entry.dueDate != null) {
+            byDueDate.computeIfAbsent(entry.dueDate, date -> new LinkedHashMap<>()).put(task.getId(), task);
+        }
+        if (entry.completed) {
+            completed.set(entry.position);
+            completedCount++;
+        }
+        searchIndex.put(task);
+    }
+
+    private void unindex(String id) {
+        Entry entry = byId.remove(id);
+        if (entry == null) return;
+        matchedIds = null;
+        unindexKeys(entry);
+        byPosition.set(entry.position, null);
+        holes++;
+        if (holes > byPosition.size() / 2) compact(); // Bounds the holes when nothing pages
+        searchIndex.remove(id);
+    }
+
+    private void unindexKeys(Entry entry) {
+        String id = entry.task.getId();
+        if (entry.priority != null) {
+            byPriority.get(entry.priority).remove(id);
+        }
+        if (entry.dueDate != null) {
+            Map<String, Task> sameDay = byDueDate.get(entry.dueDate);
+            if (sameDay != null) {
+                sameDay.remove(id);
+                if (sameDay.isEmpty()) byDueDate.remove(entry.dueDate);
+            }
+        }
+        if (entry.completed) {
+            completed.clear(entry.position);
+            completedCount--;
+        }
+    }
+
+    /** Closes the holes left by deletes, renumbering the positions after them. */
+    private void compact() {
+        if (holes == 0) return;
+        List<Entry> entries = new ArrayList<>(byId.size());
+        completed.clear();
+        for (Entry entry : byPosition) {
+            if (entry == null) continue;
+            entry.position = entries.size();
+            if (entry.completed) completed.set(entry.position);
+            entries.add(entry);
+        }
+        byPosition = entries;
+        holes = 0;
+    }
+
+    // --- Repository ---
+
+    @Override
+    public synchronized void save(Task task) {
+        refreshIfStale();
+        delegate.save(task);
+        index(task);
+    }
+
+    @Override
+    public synchronized void update(Task task) {
+        refreshIfStale();
+        if (!byId.containsKey(task.getId())) return;
+        delegate.update(task);
+        index(task);
+    }
+
+    @Override
+    public synchronized void delete(String id) {
+        refreshIfStale();
+        delegate.delete(id);
+        unindex(id);
+    }
+
+    @Override
+    public synchronized void saveAll(Collection<Task> tasks) {
+        refreshIfStale();
+        delegate.saveAll(tasks);
+        tasks.forEach(this::index);
+    }
+
+    @Override
+    public synchronized void updateAll(Collection<Task> tasks) {
+        refreshIfStale();
+        List<Task> known = tasks.stream().filter(task -> byId.containsKey(task.getId())).toList();
+        delegate.updateAll(known);
+        known.forEach(this::index);
+    }
+
+    @Override
+    public synchronized void deleteAll(Collection<String> ids) {
+        refreshIfStale();
+        delegate.deleteAll(ids);
+        ids.forEach(this::unindex);
+    }
+
+    @Override
+    public synchronized Optional<Task> findById(String id) {
+        refreshIfStale();
+        Entry entry = byId.get(id);
+        return entry != null ? Optional.of(entry.task) : Optional.empty();
+    }
+
+    @Override
+    public synchronized List<Task> findAll() {
+        refreshIfStale();
+        List<Task> tasks = new ArrayList<>(byId.size());
+        for (Entry entry : byPosition) {
+            if (entry != null) tasks.add(entry.task);
+        }
+        return tasks;
+    }
+
+    @Override
+    public synchronized List<Task> findPage(int offset, int limit) {
+        refreshIfStale();
+        compact();
+        int from = Math.min(offset, byPosition.size());
+        int to = (int) Math.min(byPosition.size(), (long) from + limit);
+        List<Task> tasks = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            tasks.add(byPosition.get(i).task);
+        }
+        return tasks;
+    }
+
+    @Override
+    public synchronized long count() {
+        refreshIfStale();
+        return byId.size();
+    }
+
+    // --- Queries ---
+
+    @Override
+    public synchronized List<Task> findByPriority(Priority priority) {
+        refreshIfStale();
+        return new ArrayList<>(byPriority.get(priority).values());
+    }
+
+    @Override
+    public synchronized List<Task> findDueBetween(LocalDate from, LocalDate to) {
+        refreshIfStale();
+        List<Task> tasks = new ArrayList<>();
+        byDueDate.subMap(from, true, to, true).values().forEach(sameDay -> tasks.addAll(sameDay.values()));
+        return tasks;
+    }
+
+    @Override
+    public synchronized List<Task> findOverdue(LocalDate today) {
+        refreshIfStale();
+        List<Task> tasks = new ArrayList<>();
+        for (Map<String, Task> sameDay : byDueDate.headMap(today, false).values()) {
+            for (Task task : sameDay.values()) {
+                if (!completed.get(byId.get(task.getId()).position)) tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    @Override
+    public synchronized List<Task> search(String query) {
+        refreshIfStale();
+        List<Task> tasks = new ArrayList<>();
+        for (String id : searchIndex.search(query)) {
+            Entry entry = byId.get(id);
+            if (entry != null) tasks.add(entry.task);
+        }
+        return tasks;
+    }
+
+    @Override
+    public synchronized TaskPage findMatchingPage(String query, Priority priority, int offset, int limit) {
+        refreshIfStale();
+        String normalized = query == null ? "" : query;
+        if (matchedIds == null || !normalized.equals(matchedQuery) || priority != matchedPriority) {
+            matchedIds = matching(normalized, priority);
+            matchedQuery = normalized;
+            matchedPriority = priority;
+        }
+        int from = Math.min(offset, matchedIds.size());
+        int to = (int) Math.min(matchedIds.size(), (long) from + limit);
+        List<Task> tasks = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            tasks.add(byId.get(matchedIds.get(i)).task);
+        }
+        return new TaskPage(tasks, offset, matchedIds.size());
+    }
+
+    private List<String> matching(String query, Priority priority) {
+        if (query.isBlank()) {
+            if (priority != null) return new ArrayList<>(byPriority.get(priority).keySet());
+            compact();
+            List<String> ids = new ArrayList<>(byPosition.size());
+            byPosition.forEach(entry -> ids.add(entry.task.getId()));
+            return ids;
+        }
+        List<String> ids = new ArrayList<>();
+        for (String id : searchIndex.search(query)) {
+            Entry entry = byId.get(id);
+            if (entry != null && (priority == null || entry.priority == priority)) ids.add(id);
+        }
+        return ids;
+    }
+
+    @Override
+    public synchronized long countAll() {
+        refreshIfStale();
+        return byId.size();
+    }
+
+    @Override
+    public synchronized long countCompleted() {
+        refreshIfStale();
+        return completedCount;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
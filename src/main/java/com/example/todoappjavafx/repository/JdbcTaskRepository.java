@@ -0,0 +1,459 @@
+package com.example.todoappjavafx.repository;
+
+import com.example.todoappjavafx.model.Priority;
+import com.example.todoappjavafx.model.Task;
+import com.example.todoappjavafx.model.TaskPage;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Repository backed by an embedded H2 database file ({@code <base>.mv.db}).
+ *
+ * Tasks are rows of one table with indexes on priority, due date and completion, so
+ * filters, due-date queries and the progress counts run as SQL ({@code WHERE},
+ * {@code COUNT}) instead of loading every task. Rows keep their insertion order
+ * through an identity column, which {@link #findAll()} and {@link #findPage} follow.
+ *
+ * One connection is kept open; statements are prepared once and reused. Each write
+ * call is one transaction, and batches go to the database with JDBC batching.
+ *
+ * H2 only forces its file to disk as part of a checkpoint, which also rewrites the
+ * store's metadata, so that is kept for {@link Durability#DATA_AND_DIRECTORY}. With
+ * {@link Durability#DATA} every commit is written to the file before it returns and
+ * the fsync is left to the OS; with {@link Durability#NONE} H2's background writer
+ * writes commits within half a second.
+ */
+public class JdbcTaskRepository implements Repository<Task>, TaskQueries, AutoCloseable {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String[] SCHEMA = {
+            """
+            CREATE TABLE IF NOT EXISTS tasks (
+                seq BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                id VARCHAR(36) NOT NULL UNIQUE,
+                title VARCHAR,
+                description VARCHAR,
+                priority VARCHAR(10),
+                due_date DATE,
+                completed BOOLEAN NOT NULL DEFAULT FALSE
+            )""",
+            "CREATE INDEX IF NOT EXISTS tasks_priority ON tasks (priority)",
+            "CREATE INDEX IF NOT EXISTS tasks_due_date ON tasks (due_date)",
+            "CREATE INDEX IF NOT EXISTS tasks_completed ON tasks (completed)"
+    };
+
+    private static final String COLUMNS = "id, title, description, priority, due_date, completed";
+    // Keeps seq (and so the position in findAll order) when the id already exists
+    private static final String UPSERT = "MERGE INTO tasks (" + COLUMNS + ") KEY (id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE =
+            "UPDATE tasks SET title = ?, description = ?, priority = ?, due_date = ?, completed = ? WHERE id = ?";
+    private static final String DELETE = "DELETE FROM tasks WHERE id = ?";
+    private static final String FIND_BY_ID = "SELECT " + COLUMNS + " FROM tasks WHERE id = ?";
+    private static final String FIND_ALL = "SELECT " + COLUMNS + " FROM tasks ORDER BY seq";
+    private static final String FIND_PAGE = FIND_ALL + " OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+    private static final String FIND_BY_PRIORITY = "SELECT " + COLUMNS + " FROM tasks WHERE priority = ? ORDER BY seq";
+    private static final String FIND_WITHOUT_PRIORITY = "SELECT " + COLUMNS + " FROM tasks WHERE priority IS NULL ORDER BY seq";
+    private static final String FIND_DUE_BETWEEN =
+            "SELECT " + COLUMNS + " FROM tasks WHERE due_date BETWEEN ? AND ? ORDER BY due_date, seq";
+    private static final String FIND_OVERDUE =
+            "SELECT " + COLUMNS + " FROM tasks WHERE completed = FALSE AND due_date < ? ORDER BY due_date, seq";
+    private static final String COUNT_ALL = "SELECT COUNT(*) FROM tasks";
+    private static final String COUNT_COMPLETED = "SELECT COUNT(*) FROM tasks WHERE completed = TRUE";
+
+    private final Connection connection;
+    private final Durability durability;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+    public JdbcTaskRepository(String url) {
+        this(url, Durability.DATA);
+    }
+
+    public JdbcTaskRepository(String url, Durability durability) {
+        this.durability = durability;
+        try {
+            connection = DriverManager.getConnection(url);
+            try (Statement statement = connection.createStatement()) {
+                for (String ddl : SCHEMA) {
+                    statement.execute(ddl);
+                }
+                // A database setting, so it is set on every open rather than left from the last one
+                statement.execute("SET WRITE_DELAY " + (durability == Durability.NONE ? 500 : 0));
+            }
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to open task database " + url + driverHint(url), e);
+        }
+    }
+
+    /** H2 is not linked into the jlink image, so a launch without its jar has no driver for the url. */
+    private static String driverHint(String url) {
+        try {
+            DriverManager.getDriver(url);
+            return "";
+        } catch (SQLException e) {
+            return ": no JDBC driver accepts it; put the H2 jar on the module path or the class path";
+        }
+    }
+
+    /** JDBC URL of the H2 database stored in {@code <basePath>.mv.db}. */
+    public static String h2Url(String basePath) {
+        return "jdbc:h2:file:" + Path.of(basePath).toAbsolutePath();
+    }
+
+    // --- Statements ---
+
+    private PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement statement = statements.get(sql);
+        if (statement == null) {
+            statement = connection.prepareStatement(sql);
+            statements.put(sql, statement);
+        }
+        return statement;
+    }
+
+    @FunctionalInterface
+    private interface Work {
+        void run() throws SQLException;
+    }
+
+    /** Runs {@code work} as one transaction, rolled back entirely if anything in it fails. */
+    private void inTransaction(Work work) {
+        try {
+            work.run();
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            // Also for unchecked failures (e.g. a task stream that cannot be parsed), or the
+            // open transaction and any rows still batched would go out with the next write
+            try {
+                connection.rollback();
+                for (PreparedStatement statement : statements.values()) {
+                    statement.clearBatch();
+                }
+            } catch (SQLException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            if (e instanceof RuntimeException unchecked) throw unchecked;
+            throw new RuntimeException("Failed to write to task database.", e);
+        }
+        if (durability == Durability.DATA_AND_DIRECTORY) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CHECKPOINT SYNC");
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to sync task database.", e);
+            }
+        }
+    }
+
+    // --- Row mapping ---
+
+    private static void bindUpsert(PreparedStatement statement, Task task) throws SQLException {
+        statement.setString(1, task.getId());
+        bindFields(statement, 2, task);
+    }
+
+    private static void bindUpdate(PreparedStatement statement, Task task) throws SQLException {
+        bindFields(statement, 1, task);
+        statement.setString(6, task.getId());
+    }
+
+    private static void bindFields(PreparedStatement statement, int first, Task task) throws SQLException {
+        statement.setString(first, task.getTitle());
+        statement.setString(first + 1, task.getDescription());
+        statement.setString(first + 2, task.getPriority() != null ? task.getPriority().name() : null);
+        if (task.getDueDate() != null) {
+            statement.setDate(first + 3, Date.valueOf(task.getDueDate()));
+        } else {
+            statement.setNull(first + 3, Types.DATE);
+        }
+        statement.setBoolean(first + 4, task.isCompleted());
+    }
+
+    private static Task read(ResultSet row) throws SQLException {
+        String priority = row.getString(4);
+        Date dueDate = row.getDate(5);
+        return new Task(row.getString(1), row.getString(2), row.getString(3),
+                priority != null ? Priority.valueOf(priority) : null,
+                dueDate != null ? dueDate.toLocalDate() : null,
+                row.getBoolean(6));
+    }
+
+    private static List<Task> readAll(PreparedStatement statement) throws SQLException {
+        List<Task> tasks = new ArrayList<>();
+        try (ResultSet rows = statement.executeQuery()) {
+            while (rows.next()) {
+                tasks.add(read(rows));
+            }
+        }
+        return tasks;
+    }
+
+    private static long readCount(PreparedStatement statement) throws SQLException {
+        try (ResultSet rows = statement.executeQuery()) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    // --- Repository operations ---
+
+    @Override
+    public synchronized void save(Task task) {
+        saveAll(List.of(task));
+    }
+
+    @Override
+    public synchronized void update(Task task) {
+        updateAll(List.of(task));
+    }
+
+    @Override
+    public synchronized void delete(String id) {
+        deleteAll(List.of(id));
+    }
+
+    @Override
+    public synchronized void saveAll(Collection<Task> tasks) {
+        inTransaction(() -> upsert(tasks.iterator()));
+    }
+
+    /**
+     * Imports a stream of tasks (e.g. {@link TaskJsonStreams#stream}) in one transaction,
+     * a batch at a time, without holding them all in memory. Returns the number imported.
+     */
+    public synchronized long importTasks(Stream<Task> tasks) {
+        long[] count = new long[1];
+        inTransaction(() -> count[0] = upsert(tasks.iterator()));
+        return count[0];
+    }
+
+    private long upsert(Iterator<Task> tasks) throws SQLException {
+        PreparedStatement statement = prepare(UPSERT);
+        long count = 0;
+        while (tasks.hasNext()) {
+            bindUpsert(statement, tasks.next());
+            statement.addBatch();
+            if (++count % BATCH_SIZE == 0) statement.executeBatch();
+        }
+        if (count % BATCH_SIZE != 0) statement.executeBatch();
+        return count;
+    }
+
+    @Override
+    public synchronized void updateAll(Collection<Task> tasks) {
+        inTransaction(() -> {
+            PreparedStatement statement = prepare(UPDATE);
+            for (Task task : tasks) {
+                bindUpdate(statement, task);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        });
+    }
+
+    @Override
+    public synchronized void deleteAll(Collection<String> ids) {
+        inTransaction(() -> {
+            PreparedStatement statement = prepare(DELETE);
+            for (String id : ids) {
+                statement.setString(1, id);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        });
+    }
+
+    @Override
+    public synchronized Optional<Task> findById(String id) {
+        try {
+            PreparedStatement statement = prepare(FIND_BY_ID);
+            statement.setString(1, id);
+            List<Task> tasks = readAll(statement);
+            return tasks.isEmpty() ? Optional.empty() : Optional.of(tasks.get(0));
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read from task database.", e);
+        }
+    }
+
+    @Override
+    public synchronized List<Task> findAll() {
+        try {
+            return readAll(prepare(FIND_ALL));
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read from task database.", e);
+        }
+    }
+
+    @Override
+    public synchronized List<Task> findPage(int offset, int limit) {
+        try {
+            PreparedStatement statement = prepare(FIND_PAGE);
+            statement.setLong(1, offset);
+            statement.setLong(2, limit);
+            return readAll(statement);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read from task database.", e);
+        }
+    }
+
+    @Override
+    public synchronized long count() {
+        return countAll();
+    }
+
+    // --- Queries ---
+
+    @Override
+    public synchronized List<Task> findByPriority(Priority priority) {
+        try {
+            if (priority == null) return readAll(prepare(FIND_WITHOUT_PRIORITY));
+            PreparedStatement statement = prepare(FIND_BY_PRIORITY);
+            statement.setString(1, priority.name());
+            return readAll(statement);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read from task database.", e);
+        }
+    }
+
+    @Override
+    public synchronized List<Task> findDueBetween(LocalDate from, LocalDate to) {
+        try {
+            PreparedStatement statement = prepare(FIND_DUE_BETWEEN);
+            statement.setDate(1, Date.valueOf(from));
+            statement.setDate(2, Date.valueOf(to));
+            return readAll(statement);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read from task database.", e);
+        }
+    }
+
+    @Override
+    public synchronized List<Task> findOverdue(LocalDate today) {
+        try {
+            PreparedStatement statement = prepare(FIND_OVERDUE);
+            statement.setDate(1, Date.valueOf(today));
+            return readAll(statement);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read from task database.", e);
+        }
+    }
+
+    /**
+     * Each term must start a word of the title or description, as in {@link TaskSearchIndex};
+     * tasks matching more terms in the title come first. The statement depends only on the
+     * number of terms, so it is prepared once per term count.
+     */
+    @Override
+    public synchronized List<Task> search(String query) {
+        List<String> terms = TaskSearchIndex.tokenize(query);
+        if (terms.isEmpty()) return new ArrayList<>();
+        String sql = "SELECT " + COLUMNS + " FROM tasks WHERE " + matchAll(terms.size(), "COALESCE(title, '') || ' ' || COALESCE(description, '')")
+                + " ORDER BY " + titleHits(terms.size()) + " DESC, seq";
+        try {
+            PreparedStatement statement = prepare(sql);
+            bindTerms(statement, bindTerms(statement, 1, terms), terms);
+            return readAll(statement);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read from task database.", e);
+        }
+    }
+
+    /** The same filter and ranking as {@link #search}, with the priority filter and the slice done by the database. */
+    @Override
+    public synchronized TaskPage findMatchingPage(String query, Priority priority, int offset, int limit) {
+        List<String> terms = query != null ? TaskSearchIndex.tokenize(query) : List.of();
+        if (terms.isEmpty() && query != null && !query.isBlank()) return new TaskPage(new ArrayList<>(), offset, 0);
+        String where = (terms.isEmpty() ? "TRUE" : matchAll(terms.size(), "COALESCE(title, '') || ' ' || COALESCE(description, '')"))
+                + (priority != null ? " AND priority = ?" : "");
+        String order = terms.isEmpty() ? "seq" : titleHits(terms.size()) + " DESC, seq";
+        try {
+            PreparedStatement count = prepare("SELECT COUNT(*) FROM tasks WHERE " + where);
+            int next = bindTerms(count, 1, terms);
+            if (priority != null) count.setString(next, priority.name());
+
+            PreparedStatement page = prepare("SELECT " + COLUMNS + " FROM tasks WHERE " + where
+                    + " ORDER BY " + order + " OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
+            next = bindTerms(page, 1, terms);
+            if (priority != null) page.setString(next++, priority.name());
+            next = bindTerms(page, next, terms);
+            page.setLong(next++, offset);
+            page.setLong(next, limit);
+            return new TaskPage(readAll(page), offset, (int) readCount(count));
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read from task database.", e);
+        }
+    }
+
+    /** Every term must start a word of {@code text}; one parameter per term. */
+    private static String matchAll(int terms, String text) {
+        StringBuilder where = new StringBuilder();
+        for (int i = 0; i < terms; i++) {
+            if (i > 0) where.append(" AND ");
+            where.append("REGEXP_LIKE(").append(text).append(", ?)");
+        }
+        return where.toString();
+    }
+
+    /** Number of terms that start a word of the title; one parameter per term. */
+    private static String titleHits(int terms) {
+        StringBuilder hits = new StringBuilder();
+        for (int i = 0; i < terms; i++) {
+            if (i > 0) hits.append(" + ");
+            hits.append("CASE WHEN REGEXP_LIKE(COALESCE(title, ''), ?) THEN 1 ELSE 0 END");
+        }
+        return hits.toString();
+    }
+
+    /** Binds one word-start pattern per term from parameter {@code first} on; returns the next parameter index. */
+    private static int bindTerms(PreparedStatement statement, int first, List<String> terms) throws SQLException {
+        for (String term : terms) {
+            statement.setString(first++, "(?iu)(^|[^\\p{L}\\p{N}])" + Pattern.quote(term));
+        }
+        return first;
+    }
+
+    @Override
+    public synchronized long countAll() {
+        try {
+            return readCount(prepare(COUNT_ALL));
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read from task database.", e);
+        }
+    }
+
+    @Override
+    public synchronized long countCompleted() {
+        try {
+            return readCount(prepare(COUNT_COMPLETED));
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read from task database.", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws SQLException {
+        for (PreparedStatement statement : statements.values()) {
+            statement.close();
+        }
+        statements.clear();
+        connection.close();
+    }
+}
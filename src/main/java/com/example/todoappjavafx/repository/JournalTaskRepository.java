@@ -0,0 +1,400 @@
+package com.example.todoappjavafx.repository;
+
+import com.example.todoappjavafx.metrics.Metrics;
+import com.example.todoappjavafx.model.Task;
+import com.example.todoappjavafx.util.JsonUtil;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository that persists tasks as a snapshot plus an append-only journal.
+ *
+ * The snapshot uses the same JSON array format as {@link JsonTaskRepository},
+ * and every mutation appends one compact JSON line (an upsert or a tombstone)
+ * to {@code <snapshot>.journal}, so a write costs a single append instead of a
+ * full rewrite. On startup the snapshot is loaded and the journal replayed on
+ * top of it; a torn last line left by a crash is cut off and everything before
+ * it survives. A damaged record with more records after it is not a torn write,
+ * so the journal is left untouched and the repository refuses to open.
+ * Once the journal grows past a record count and a ratio of the live task count,
+ * a background thread folds it into a new snapshot; edits keep appending to the
+ * journal while the snapshot is written.
+ * How often appends are forced to disk follows the {@link Durability} level.
+ * Batch operations are written as a single record, so they replay completely or not at all.
+ */
+public class JournalTaskRepository implements Repository<Task>, AutoCloseable {
+
+    private static final String PUT = "put";
+    private static final String DELETE = "del";
+    private static final String BATCH = "batch";
+
+    private static final int DEFAULT_MIN_RECORDS = 1_000;
+    private static final double DEFAULT_RATIO = 2.0;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final Path snapshotPath;
+    private final Path journalPath;
+    private final Gson gson = JsonUtil.gsonBuilder().create();
+    private final int compactMinRecords;
+    private final double compactRatio;
+    private final Durability durability;
+
+    private final Map<String, Task> tasks = new LinkedHashMap<>();
+    private final Object compactionLock = new Object(); // One compaction at a time; never held by edits
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private FileChannel journal;
+    private long journalRecords;
+    private boolean compactionPending;
+    private boolean closed;
+
+    public JournalTaskRepository(String snapshotPath) {
+        this(snapshotPath, Durability.DATA);
+    }
+
+    public JournalTaskRepository(String snapshotPath, Durability durability) {
+        this(snapshotPath, durability, DEFAULT_MIN_RECORDS, DEFAULT_RATIO);
+    }
+
+    /**
+     * @param compactMinRecords journal records required before compaction is considered
+     * @param compactRatio      compact once journal records exceed this multiple of live tasks
+     */
+    public JournalTaskRepository(String snapshotPath, Durability durability, int compactMinRecords, double compactRatio) {
+        this.snapshotPath = Path.of(snapshotPath);
+        this.journalPath = Path.of(snapshotPath + ".journal");
+        this.compactMinRecords = compactMinRecords;
+        this.compactRatio = compactRatio;
+        this.durability = durability;
+        try {
+            if (this.snapshotPath.getParent() != null) {
+                Files.createDirectories(this.snapshotPath.getParent());
+            }
+            loadSnapshot();
+            long validLength = replayJournal();
+            journal = openJournal();
+            // Drop a partially written record left behind by a crash
+            journal.truncate(validLength);
+            journal.position(validLength);
+            if (durability == Durability.DATA_AND_DIRECTORY) {
+                AtomicFiles.syncDirectory(journalPath.toAbsolutePath().getParent());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open task journal.", e);
+        }
+    }
+
+    private void loadSnapshot() throws IOException {
+        if (Files.notExists(snapshotPath)) return;
+        TaskJsonStreams.forEach(snapshotPath, task -> tasks.put(task.getId(), task));
+        Metrics.counter(Metrics.BYTES_READ).add(Files.size(snapshotPath));
+    }
+
+    private FileChannel openJournal() throws IOException {
+        return FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Applies every complete journal record and returns the byte length they occupy.
+     * Only the tail may be damaged: an unterminated last line, or a last line that does
+     * not parse. A damaged record followed by further lines fails with an IOException.
+     */
+    private long replayJournal() throws IOException {
+        if (Files.notExists(journalPath)) return 0;
+        long validLength = 0;
+        long corruptAt = -1;
+        try (InputStream in = Files.newInputStream(journalPath)) {
+            byte[] buffer = new byte[READ_BUFFER_SIZE];
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                int lineStart = 0;
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] != '\n') continue;
+                    line.write(buffer, lineStart, i - lineStart);
+                    lineStart = i + 1;
+                    if (corruptAt >= 0) {
+                        throw new IOException("Task journal " + journalPath + " has a damaged record at byte "
+                                + corruptAt + " followed by more records; it was left untouched.");
+                    }
+                    Record record = parse(line);
+                    if (record == null) {
+                        corruptAt = validLength; // Fine as long as it turns out to be the last line
+                    } else {
+                        apply(record);
+                        validLength += line.size() + 1;
+                        journalRecords++;
+                    }
+                    line.reset();
+                }
+                line.write(buffer, lineStart, read - lineStart);
+            }
+        }
+        Metrics.counter(Metrics.BYTES_READ).add(validLength);
+        return validLength;
+    }
+
+    /** Parses one journal line; null if it is damaged. An empty line is a valid no-op record. */
+    private Record parse(ByteArrayOutputStream line) {
+        if (line.size() == 0) return new Record();
+        try {
+            return gson.fromJson(line.toString(StandardCharsets.UTF_8), Record.class);
+        } catch (JsonParseException | IllegalArgumentException | DateTimeException e) {
+            return null;
+        }
+    }
+
+    private void apply(Record record) {
+        if (record == null) return;
+        if (PUT.equals(record.op) && record.task != null) {
+            tasks.put(record.task.getId(), record.task);
+        } else if (DELETE.equals(record.op) && record.id != null) {
+            tasks.remove(record.id);
+        } else if (BATCH.equals(record.op) && record.batch != null) {
+            record.batch.forEach(this::apply);
+        }
+    }
+
+    private void append(Record record) {
+        byte[] line = (gson.toJson(record) + "\n").getBytes(StandardCharsets.UTF_8);
+        long start = -1;
+        try {
+            start = journal.position();
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                journal.write(buffer);
+            }
+            if (durability != Durability.NONE) {
+                journal.force(false);
+            }
+        } catch (IOException e) {
+            discardFrom(start);
+            throw new RuntimeException("Failed to append to task journal.", e);
+        }
+        journalRecords++;
+        Metrics.counter(Metrics.BYTES_WRITTEN).add(line.length);
+        scheduleCompactionIfNeeded();
+    }
+
+    /** Cuts off a partially written record so later appends do not follow garbage. */
+    private void discardFrom(long position) {
+        if (position < 0) return;
+        try {
+            journal.truncate(position);
+            journal.position(position);
+        } catch (IOException ignored) {
+            // Replay drops the torn record on the next start anyway
+        }
+    }
+
+    private void scheduleCompactionIfNeeded() {
+        if (compactionPending || journalRecords < compactMinRecords
+                || journalRecords <= compactRatio * Math.max(tasks.size(), 1)) {
+            return;
+        }
+        compactionPending = true;
+        compactor.execute(() -> {
+            try {
+                compact();
+            } catch (RuntimeException e) {
+                e.printStackTrace(); // The journal is still intact, so we can try again later
+            }
+        });
+    }
+
+    /**
+     * Writes the current state to a new snapshot and drops the journal records it covers.
+     *
+     * The state and the journal position are captured under the lock, but the snapshot
+     * is written without it, so edits keep appending meanwhile. Those later records are
+     * then carried over into a fresh journal that atomically replaces the old one. Either
+     * way a crash leaves records that replay to the same state on top of the snapshot.
+     */
+    public void compact() {
+        synchronized (compactionLock) {
+            List<Task> snapshot;
+            long covered;
+            long coveredRecords;
+            synchronized (this) {
+                compactionPending = false;
+                if (closed) return;
+                snapshot = new ArrayList<>(tasks.values());
+                try {
+                    covered = journal.position();
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to compact task journal.", e);
+                }
+                coveredRecords = journalRecords;
+            }
+            // The snapshot must be on disk before the journal that backs it goes away
+            Durability snapshotDurability = durability == Durability.NONE ? Durability.DATA : durability;
+            try {
+                AtomicFiles.write(snapshotPath, snapshotDurability, false,
+                        out -> TaskJsonStreams.write(out, snapshot, false));
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to compact task journal.", e);
+            }
+            synchronized (this) {
+                if (closed) return; // The old journal replays on top of the new snapshot just as well
+                replaceJournalFrom(covered, snapshotDurability);
+                journalRecords -= coveredRecords;
+            }
+        }
+    }
+
+    /** Swaps the journal for one holding only the records from {@code position} on. */
+    private void replaceJournalFrom(long position, Durability replaceDurability) {
+        try {
+            ByteBuffer rest = ByteBuffer.allocate(Math.toIntExact(journal.position() - position));
+            while (rest.hasRemaining()) {
+                if (journal.read(rest, position + rest.position()) < 0) break;
+            }
+            journal.close();
+            try {
+                AtomicFiles.write(journalPath, replaceDurability, false, out -> out.write(rest.array(), 0, rest.position()));
+            } finally {
+                journal = openJournal(); // The old journal if the replacement failed, which is still consistent
+                journal.position(journal.size());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to compact task journal.", e);
+        }
+    }
+
+    @Override
+    public synchronized void save(Task task) {
+        append(Record.put(task));
+        tasks.put(task.getId(), task);
+    }
+
+    @Override
+    public synchronized void update(Task updatedTask) {
+        if (tasks.containsKey(updatedTask.getId())) {
+            append(Record.put(updatedTask));
+            tasks.put(updatedTask.getId(), updatedTask);
+        }
+    }
+
+    @Override
+    public synchronized void delete(String id) {
+        if (tasks.containsKey(id)) {
+            append(Record.delete(id));
+            tasks.remove(id);
+        }
+    }
+
+    @Override
+    public synchronized void saveAll(Collection<Task> newTasks) {
+        if (newTasks.isEmpty()) return;
+        Record batch = Record.batch(newTasks.stream().map(Record::put).toList());
+        append(batch);
+        apply(batch);
+    }
+
+    @Override
+    public synchronized void updateAll(Collection<Task> updatedTasks) {
+        List<Record> puts = updatedTasks.stream()
+                .filter(task -> tasks.containsKey(task.getId()))
+                .map(Record::put)
+                .toList();
+        if (puts.isEmpty()) return;
+        Record batch = Record.batch(puts);
+        append(batch);
+        apply(batch);
+    }
+
+    @Override
+    public synchronized void deleteAll(Collection<String> ids) {
+        List<Record> deletes = ids.stream()
+                .filter(tasks::containsKey)
+                .map(Record::delete)
+                .toList();
+        if (deletes.isEmpty()) return;
+        Record batch = Record.batch(deletes);
+        append(batch);
+        apply(batch);
+    }
+
+    @Override
+    public synchronized Optional<Task> findById(String id) {
+        return Optional.ofNullable(tasks.get(id));
+    }
+
+    @Override
+    public synchronized List<Task> findAll() {
+        return new ArrayList<>(tasks.values());
+    }
+
+    /** Waits for a running or queued compaction, then closes the journal. */
+    @Override
+    public void close() {
+        compactor.shutdown();
+        try {
+            if (!compactor.awaitTermination(1, TimeUnit.MINUTES)) {
+                System.err.println("Task journal compaction did not finish; closing without it.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            closed = true;
+            try {
+                journal.close();
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to close task journal.", e);
+            }
+        }
+    }
+
+    /** One journal line: an upsert carrying the full task, a tombstone carrying its id, or a batch of both. */
+    private static class Record {
+        String op;
+        Task task;
+        String id;
+        List<Record> batch;
+
+        static Record put(Task task) {
+            Record record = new Record();
+            record.op = PUT;
+            record.task = task;
+            return record;
+        }
+
+        static Record delete(String id) {
+            Record record = new Record();
+            record.op = DELETE;
+            record.id = id;
+            return record;
+        }
+
+        static Record batch(List<Record> records) {
+            Record record = new Record();
+            record.op = BATCH;
+            record.batch = records;
+            return record;
+        }
+    }
+}
@@ -0,0 +1,499 @@
+package com.example.todoappjavafx.repository;
+
+import com.example.todoappjavafx.metrics.Metrics;
+import com.example.todoappjavafx.model.Priority;
+import com.example.todoappjavafx.model.Task;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository backed by a memory-mapped file of fixed-width task slots.
+ *
+ * Scalar fields (id, priority, due date, completed flag) live in a 48-byte
+ * slot in {@code <base>.slots}, which is mapped with a {@link MappedByteBuffer}.
+ * Titles and descriptions are appended to {@code <base>.heap} and referenced
+ * by offset. Toggling completion or changing priority or due date is
+ * therefore an in-place write of a few bytes, and only a text change
+ * appends to the heap. Deleted slots go on a free list that inserts reuse.
+ *
+ * Ids must be canonical UUID strings, as produced by {@link Task}. The heap
+ * is append-only while the store is open: text replaced by an edit stays in
+ * the file as garbage. When the store is opened and the garbage outweighs the
+ * live text, the live text is copied into a new heap file (the next
+ * generation, {@code <base>.<n>.heap}) and the slot file is atomically
+ * replaced by one pointing into it, so a crash leaves either the old or the
+ * new pair.
+ */
+public class MappedTaskRepository implements Repository<Task>, AutoCloseable {
+
+    private static final int MAGIC = 0x54444F4D; // "TDOM"
+    private static final short VERSION = 1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Header layout
+    private static final int HEADER_SIZE = 32;
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_CAPACITY = 8;
+    private static final int H_FREE_HEAD = 12;
+    private static final int H_HIGH_WATER = 16;
+    private static final int H_HEAP_LENGTH = 20;
+    private static final int H_HEAP_GENERATION = 28; // 0 (the .heap file) in stores from before compaction
+
+    // Slot layout
+    private static final int SLOT_SIZE = 48;
+    private static final int S_STATE = 0;
+    private static final int S_FLAGS = 1;
+    private static final int S_PRIORITY = 2;
+    private static final int S_DUE_DATE = 4;
+    private static final int S_ID_MSB = 8;
+    private static final int S_ID_LSB = 16;
+    private static final int S_TEXT_OFFSET = 24;
+    private static final int S_TEXT_LENGTH = 32;
+    private static final int S_NEXT_FREE = 36;
+
+    private static final byte FREE = 0;
+    private static final byte USED = 1;
+    private static final int COMPLETED = 1;
+    private static final int HAS_DUE_DATE = 1 << 1;
+    private static final int NONE = -1;
+
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final long MIN_COMPACTION_GARBAGE = 1024 * 1024;
+
+    /** What is stored for a task, kept to detect which fields an update actually changed. */
+    private static final class Entry {
+        final int slot;
+        Task task;
+        String title;
+        String description;
+
+        Entry(int slot) {
+            this.slot = slot;
+        }
+    }
+
+    private final Durability durability;
+    private final String basePath;
+    private FileChannel slotChannel;
+    private FileChannel heapChannel;
+    private MappedByteBuffer slots;
+
+    // Slot order is insertion order for new files; reused slots keep their place
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    public MappedTaskRepository(String basePath) {
+        this(basePath, Durability.DATA);
+    }
+
+    public MappedTaskRepository(String basePath, Durability durability) {
+        this.durability = durability;
+        this.basePath = basePath;
+        Path slotPath = Path.of(basePath + ".slots");
+        try {
+            if (slotPath.getParent() != null) {
+                Files.createDirectories(slotPath.getParent());
+            }
+            boolean created = Files.notExists(slotPath);
+            slotChannel = openChannel(slotPath);
+            if (created) {
+                heapChannel = openChannel(heapPath(0));
+                heapChannel.truncate(0);
+                map(INITIAL_CAPACITY);
+                slots.putInt(H_MAGIC, MAGIC);
+                slots.putShort(H_VERSION, VERSION);
+                slots.putInt(H_CAPACITY, INITIAL_CAPACITY);
+                slots.putInt(H_FREE_HEAD, NONE);
+                slots.putInt(H_HIGH_WATER, 0);
+                slots.putLong(H_HEAP_LENGTH, 0);
+                slots.force();
+            } else {
+                open(slotPath);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open memory-mapped task store.", e);
+        }
+    }
+
+    private static FileChannel openChannel(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private Path heapPath(int generation) {
+        return Path.of(generation == 0 ? basePath + ".heap" : basePath + "." + generation + ".heap");
+    }
+
+    private void open(Path slotPath) throws IOException {
+        if (slotChannel.size() < HEADER_SIZE) throw new IOException(slotPath + " is too short to be a task store.");
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        slotChannel.read(header, 0);
+        if (header.getInt(H_MAGIC) != MAGIC) throw new IOException(slotPath + " is not a task slot file.");
+        if (header.getShort(H_VERSION) != VERSION) {
+            throw new IOException("Unsupported task slot file version " + header.getShort(H_VERSION));
+        }
+        int generation = header.getInt(H_HEAP_GENERATION);
+        heapChannel = openChannel(heapPath(generation));
+        // The heap of a compaction that never committed, or the one a committed compaction replaced
+        Files.deleteIfExists(heapPath(generation + 1));
+        if (generation > 0) Files.deleteIfExists(heapPath(generation - 1));
+
+        // Heap bytes past the committed length belong to a write that never reached its slot
+        long heapLength = header.getLong(H_HEAP_LENGTH);
+        if (heapChannel.size() > heapLength) {
+            heapChannel.truncate(heapLength);
+        }
+        compactHeapIfWorthIt(slotPath, header);
+        map(header.getInt(H_CAPACITY));
+
+        long textBytes = 0;
+        heapLength = slots.getLong(H_HEAP_LENGTH);
+        int highWater = slots.getInt(H_HIGH_WATER);
+        for (int slot = 0; slot < highWater; slot++) {
+            int base = offset(slot);
+            if (slots.get(base + S_STATE) != USED) continue;
+            Entry entry = new Entry(slot);
+            int length = slots.getInt(base + S_TEXT_LENGTH);
+            String[] text = readText(slots.getLong(base + S_TEXT_OFFSET), length, heapLength);
+            entry.title = text[0];
+            entry.description = text[1];
+            entry.task = decode(base, entry);
+            entries.put(entry.task.getId(), entry);
+            textBytes += length;
+        }
+        Metrics.counter(Metrics.BYTES_READ).add(offset(highWater) + textBytes);
+    }
+
+    /**
+     * Copies the live text into the next heap generation when garbage outweighs it, then
+     * swaps in a slot file that points there. Runs before the slots are mapped, so the slot
+     * file can be replaced like any other; the rename is the commit point.
+     */
+    private void compactHeapIfWorthIt(Path slotPath, ByteBuffer header) throws IOException {
+        long heapLength = header.getLong(H_HEAP_LENGTH);
+        ByteBuffer slotFile = ByteBuffer.allocate(Math.toIntExact(
+                Math.min(slotChannel.size(), HEADER_SIZE + (long) header.getInt(H_CAPACITY) * SLOT_SIZE)));
+        while (slotFile.hasRemaining()) {
+            if (slotChannel.read(slotFile, slotFile.position()) < 0) break;
+        }
+        int highWater = slotFile.getInt(H_HIGH_WATER);
+        long liveText = 0;
+        for (int slot = 0; slot < highWater; slot++) {
+            if (slotFile.get(offset(slot) + S_STATE) == USED) liveText += slotFile.getInt(offset(slot) + S_TEXT_LENGTH);
+        }
+        long garbage = heapLength - liveText;
+        if (garbage < MIN_COMPACTION_GARBAGE || garbage <= liveText) return;
+
+        int generation = header.getInt(H_HEAP_GENERATION);
+        Path oldHeap = heapPath(generation);
+        Path newHeap = heapPath(generation + 1);
+        long position = 0;
+        try (FileChannel out = FileChannel.open(newHeap, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int slot = 0; slot < highWater; slot++) {
+                int base = offset(slot);
+                if (slotFile.get(base + S_STATE) != USED) continue;
+                long textOffset = slotFile.getLong(base + S_TEXT_OFFSET);
+                int length = slotFile.getInt(base + S_TEXT_LENGTH);
+                checkTextBounds(textOffset, length, heapLength);
+                ByteBuffer text = ByteBuffer.allocate(length);
+                while (text.hasRemaining()) {
+                    if (heapChannel.read(text, textOffset + text.position()) < 0) {
+                        throw new IOException("Task heap ends before offset " + (textOffset + length));
+                    }
+                }
+                text.flip();
+                while (text.hasRemaining()) {
+                    out.write(text, position + text.position());
+                }
+                slotFile.putLong(base + S_TEXT_OFFSET, position);
+                position += length;
+            }
+            out.force(true); // Always: the old heap is deleted once the new slots are in place
+        }
+        slotFile.putLong(H_HEAP_LENGTH, position);
+        slotFile.putInt(H_HEAP_GENERATION, generation + 1);
+        slotChannel.close();
+        AtomicFiles.write(slotPath, durability == Durability.NONE ? Durability.DATA : durability, false,
+                out -> out.write(slotFile.array()));
+        slotChannel = openChannel(slotPath);
+        heapChannel.close();
+        heapChannel = openChannel(newHeap);
+        Files.deleteIfExists(oldHeap);
+        Metrics.counter(Metrics.BYTES_WRITTEN).add(position);
+    }
+
+    private void map(int capacity) throws IOException {
+        slots = slotChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * SLOT_SIZE);
+    }
+
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private Task decode(int base, Entry entry) {
+        int flags = slots.get(base + S_FLAGS);
+        int priority = slots.get(base + S_PRIORITY);
+        String id = new UUID(slots.getLong(base + S_ID_MSB), slots.getLong(base + S_ID_LSB)).toString();
+        LocalDate dueDate = (flags & HAS_DUE_DATE) != 0 ? LocalDate.ofEpochDay(slots.getInt(base + S_DUE_DATE)) : null;
+        return new Task(id, entry.title, entry.description,
+                priority >= 0 && priority < PRIORITIES.length ? PRIORITIES[priority] : null,
+                dueDate, (flags & COMPLETED) != 0);
+    }
+
+    // --- Slot writes ---
+
+    private void writeScalars(int base, Task task) {
+        int flags = (task.isCompleted() ? COMPLETED : 0) | (task.getDueDate() != null ? HAS_DUE_DATE : 0);
+        slots.put(base + S_FLAGS, (byte) flags);
+        slots.put(base + S_PRIORITY, task.getPriority() != null ? (byte) task.getPriority().ordinal() : NONE);
+        slots.putInt(base + S_DUE_DATE, task.getDueDate() != null ? (int) task.getDueDate().toEpochDay() : 0);
+    }
+
+    /** Appends title and description to the heap and points the slot at them. */
+    private void writeText(int base, Entry entry, Task task) throws IOException {
+        ByteBuffer record = encodeText(task.getTitle(), task.getDescription());
+        long heapOffset = slots.getLong(H_HEAP_LENGTH);
+        int length = record.remaining();
+        while (record.hasRemaining()) {
+            heapChannel.write(record, heapOffset + (length - record.remaining()));
+        }
+        if (durability != Durability.NONE) {
+            heapChannel.force(false); // The text must be on disk before a slot refers to it
+        }
+        Metrics.counter(Metrics.BYTES_WRITTEN).add(length);
+        slots.putLong(H_HEAP_LENGTH, heapOffset + length);
+        slots.putLong(base + S_TEXT_OFFSET, heapOffset);
+        slots.putInt(base + S_TEXT_LENGTH, length);
+
+        entry.title = task.getTitle();
+        entry.description = task.getDescription();
+    }
+
+    private static ByteBuffer encodeText(String title, String description) {
+        byte[] titleBytes = title != null ? title.getBytes(StandardCharsets.UTF_8) : null;
+        byte[] descriptionBytes = description != null ? description.getBytes(StandardCharsets.UTF_8) : null;
+        ByteBuffer buffer = ByteBuffer.allocate(8
+                + (titleBytes != null ? titleBytes.length : 0)
+                + (descriptionBytes != null ? descriptionBytes.length : 0));
+        putBytes(buffer, titleBytes);
+        putBytes(buffer, descriptionBytes);
+        return buffer.flip();
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        buffer.putInt(bytes != null ? bytes.length : NONE);
+        if (bytes != null) buffer.put(bytes);
+    }
+
+    /** A damaged slot must not make us allocate or read beyond the committed heap. */
+    private static void checkTextBounds(long heapOffset, int length, long heapLength) throws IOException {
+        if (length < 8 || heapOffset < 0 || heapOffset + length > heapLength) {
+            throw new IOException("Corrupt task slot: text at " + heapOffset + " (" + length
+                    + " bytes) is outside the heap of " + heapLength + " bytes.");
+        }
+    }
+
+    private String[] readText(long heapOffset, int length, long heapLength) throws IOException {
+        checkTextBounds(heapOffset, length, heapLength);
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (heapChannel.read(buffer, heapOffset + buffer.position()) < 0) {
+                throw new IOException("Task heap ends before offset " + (heapOffset + length));
+            }
+        }
+        buffer.flip();
+        return new String[]{getString(buffer), getString(buffer)};
+    }
+
+    private static String getString(ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+        if (length == NONE) return null;
+        if (length < 0 || length > buffer.remaining()) throw new IOException("Corrupt task text length " + length);
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private int allocateSlot() throws IOException {
+        int free = slots.getInt(H_FREE_HEAD);
+        if (free != NONE) {
+            slots.putInt(H_FREE_HEAD, slots.getInt(offset(free) + S_NEXT_FREE));
+            return free;
+        }
+        int highWater = slots.getInt(H_HIGH_WATER);
+        int capacity = slots.getInt(H_CAPACITY);
+        if (highWater == capacity) {
+            slots.force();
+            map(capacity * 2);
+            slots.putInt(H_CAPACITY, capacity * 2);
+        }
+        slots.putInt(H_HIGH_WATER, highWater + 1);
+        return highWater;
+    }
+
+    private static UUID requireUuid(String id) {
+        try {
+            UUID uuid = UUID.fromString(id);
+            if (uuid.toString().equals(id)) return uuid;
+        } catch (IllegalArgumentException | NullPointerException e) {
+            // Fall through to the error below
+        }
+        throw new IllegalArgumentException("Memory-mapped store requires canonical UUID ids, got: " + id);
+    }
+
+    private void sync() {
+        if (durability != Durability.NONE) {
+            slots.force();
+        }
+    }
+
+    // --- Repository operations ---
+
+    /** Writes a new task's slot except its state byte; the slot is added to {@code written} for {@link #markUsed}. */
+    private void insert(Task task, List<Integer> written) throws IOException {
+        Entry existing = entries.get(task.getId());
+        if (existing != null) {
+            change(existing, task);
+            return;
+        }
+        UUID uuid = requireUuid(task.getId());
+        int slot = allocateSlot();
+        int base = offset(slot);
+        Entry entry = new Entry(slot);
+        try {
+            writeText(base, entry, task);
+        } catch (IOException e) {
+            release(slot); // Still unused, so it goes back on the free list
+            throw e;
+        }
+        writeScalars(base, task);
+        slots.putLong(base + S_ID_MSB, uuid.getMostSignificantBits());
+        slots.putLong(base + S_ID_LSB, uuid.getLeastSignificantBits());
+        slots.putInt(base + S_NEXT_FREE, NONE);
+        written.add(slot);
+        entry.task = task;
+        entries.put(task.getId(), entry);
+    }
+
+    /**
+     * Marks inserted slots as used. Dirty pages of a mapping reach the disk in no particular
+     * order, and a slot can straddle two pages, so the slots are forced first: a crash then
+     * leaves an inserted slot either unused or complete. With {@link Durability#NONE} nothing
+     * is forced and only a crash of the application itself is survived.
+     */
+    private void markUsed(List<Integer> written) {
+        if (written.isEmpty()) return;
+        sync();
+        for (int slot : written) {
+            slots.put(offset(slot) + S_STATE, USED);
+        }
+    }
+
+    private void change(Entry entry, Task task) throws IOException {
+        int base = offset(entry.slot);
+        if (!Objects.equals(entry.title, task.getTitle()) || !Objects.equals(entry.description, task.getDescription())) {
+            writeText(base, entry, task);
+        }
+        writeScalars(base, task);
+        entry.task = task;
+    }
+
+    private void remove(String id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) return;
+        release(entry.slot);
+    }
+
+    private void release(int slot) {
+        int base = offset(slot);
+        slots.put(base + S_STATE, FREE);
+        slots.putInt(base + S_NEXT_FREE, slots.getInt(H_FREE_HEAD));
+        slots.putInt(H_FREE_HEAD, slot);
+    }
+
+    @Override
+    public synchronized void save(Task task) {
+        saveAll(List.of(task));
+    }
+
+    @Override
+    public synchronized void update(Task task) {
+        updateAll(List.of(task));
+    }
+
+    @Override
+    public synchronized void delete(String id) {
+        deleteAll(List.of(id));
+    }
+
+    @Override
+    public synchronized void saveAll(Collection<Task> tasks) {
+        List<Integer> written = new ArrayList<>();
+        try {
+            for (Task task : tasks) {
+                insert(task, written);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write to memory-mapped task store.", e);
+        } finally {
+            markUsed(written); // The tasks written before a failure are in the cache, so they are kept
+        }
+        sync();
+    }
+
+    @Override
+    public synchronized void updateAll(Collection<Task> tasks) {
+        try {
+            for (Task task : tasks) {
+                Entry entry = entries.get(task.getId());
+                if (entry != null) change(entry, task);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write to memory-mapped task store.", e);
+        }
+        sync();
+    }
+
+    @Override
+    public synchronized void deleteAll(Collection<String> ids) {
+        ids.forEach(this::remove);
+        sync();
+    }
+
+    @Override
+    public synchronized Optional<Task> findById(String id) {
+        Entry entry = entries.get(id);
+        return entry != null ? Optional.of(entry.task) : Optional.empty();
+    }
+
+    @Override
+    public synchronized List<Task> findAll() {
+        List<Task> tasks = new ArrayList<>(entries.size());
+        entries.values().forEach(entry -> tasks.add(entry.task));
+        return tasks;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        slots.force();
+        heapChannel.force(true);
+        heapChannel.close();
+        slotChannel.close();
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.todoappjavafx.repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,4 +20,52 @@ public interface Repository<T> {
     Optional<T> findById(String id);
 
     List<T> findAll();
+
+    // --- Paging ---
+    // A page is a slice of findAll() order. The defaults copy findAll(); stores that
+    // keep their entries in memory override them to walk just the requested slice.
+
+    default List<T> findPage(int offset, int limit) {
+        List<T> all = findAll();
+        int from = Math.min(offset, all.size());
+        return new ArrayList<>(all.subList(from, Math.min(all.size(), from + limit)));
+    }
+
+    default long count() {
+        return findAll().size();
+    }
+
+    // --- Batch operations ---
+    // The defaults loop over the single-entity methods; file-backed stores override
+    // them to load and persist once, applying the whole batch or none of it.
+
+    default void saveAll(Collection<T> entities) {
+        entities.forEach(this::save);
+    }
+
+    default void updateAll(Collection<T> entities) {
+        entities.forEach(this::update);
+    }
+
+    default void deleteAll(Collection<String> ids) {
+        ids.forEach(this::delete);
+    }
+
+    // --- External changes ---
+
+    /**
+     * Told when the store finds that its data was changed by someone else and reloads it.
+     * It may be called on any thread while the store holds its lock, so it should only take
+     * note and look at the store later. Stores that are never changed behind their back ignore it.
+     */
+    default void setExternalChangeListener(Runnable listener) {
+    }
+
+    /**
+     * Looks for changes made by someone else now, telling the listener if there are any, instead
+     * of on the next access that reaches the store. Layers that answer reads from their own copy
+     * call it before answering, since their reads never get that far.
+     */
+    default void checkForExternalChanges() {
+    }
 }
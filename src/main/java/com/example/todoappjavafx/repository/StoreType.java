@@ -0,0 +1,136 @@
+package com.example.todoappjavafx.repository;
+
+import com.example.todoappjavafx.model.Task;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Available persistence backends for tasks.
+ * The backend is picked with the {@code todo.store} system property (e.g. {@code -Dtodo.store=journal})
+ * and opened with the {@link Durability} level from {@code todo.durability}.
+ */
+public enum StoreType {
+    JSON,
+    JOURNAL,
+    BINARY,
+    MAPPED,
+    SQL;
+
+    public static final String PROPERTY = "todo.store";
+    private static final String IMPORT_SUFFIX = ".import";
+
+    public static StoreType fromSystemProperty() {
+        String value = System.getProperty(PROPERTY);
+        if (value == null || value.isBlank()) return JSON;
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Opens the store for the given JSON file path. Stores with their own format
+     * keep their file next to it (tasks.json -> tasks.bin, tasks.mv.db) and import the JSON
+     * file the first time they are opened.
+     */
+    public Repository<Task> open(String filePath) {
+        return switch (this) {
+            case JSON -> new JsonTaskRepository(filePath, Durability.fromSystemProperty());
+            case JOURNAL -> new JournalTaskRepository(filePath, Durability.fromSystemProperty());
+            case BINARY -> {
+                Path json = Path.of(filePath);
+                String base = siblingWithExtension(json, "").toString();
+                importOnce(json, base, ".bin",
+                        (from, importBase) -> TaskFileConverter.jsonToBinary(from, Path.of(importBase + ".bin")));
+                yield new BinaryTaskRepository(base + ".bin", Durability.fromSystemProperty());
+            }
+            case MAPPED -> {
+                Path json = Path.of(filePath);
+                String base = siblingWithExtension(json, "").toString();
+                // The slot file goes into place last: it is what marks the import as done
+                importOnce(json, base, ".slots", (from, importBase) -> {
+                    try (MappedTaskRepository store = new MappedTaskRepository(importBase, Durability.NONE);
+                         Stream<Task> tasks = TaskJsonStreams.stream(from)) {
+                        store.saveAll(tasks.toList());
+                    }
+                });
+                yield new MappedTaskRepository(base, Durability.fromSystemProperty());
+            }
+            case SQL -> {
+                Path json = Path.of(filePath);
+                String base = siblingWithExtension(json, "").toString();
+                importOnce(json, base, ".mv.db",
+                        (from, importBase) -> TaskFileConverter.jsonToDatabase(from, JdbcTaskRepository.h2Url(importBase)));
+                yield new JdbcTaskRepository(JdbcTaskRepository.h2Url(base), Durability.fromSystemProperty());
+            }
+        };
+    }
+
+    private static Path siblingWithExtension(Path path, String extension) {
+        String name = path.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return path.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + extension);
+    }
+
+    /** Builds a store from the JSON file; its files are named {@code importBase + <extension>}. */
+    @FunctionalInterface
+    private interface Migration {
+        void run(Path json, String importBase) throws Exception;
+    }
+
+    /**
+     * Imports the JSON file the first time a store is opened, i.e. while {@code base + markerExtension}
+     * does not exist. The store is built under a temporary name and its files are renamed into place
+     * only once the import succeeded, the marker last, so a failed or interrupted import leaves no
+     * half-filled store behind and is simply tried again at the next start.
+     */
+    static void importOnce(Path json, String base, String markerExtension, Migration migration) {
+        Path marker = Path.of(base + markerExtension);
+        if (Files.exists(marker) || Files.notExists(json)) return;
+        String importBase = base + IMPORT_SUFFIX;
+        try {
+            deleteStoreFiles(importBase); // Left behind by an import that was cut short
+            migration.run(json, importBase);
+            List<Path> files = storeFiles(importBase);
+            Path importedMarker = Path.of(importBase + markerExtension);
+            if (!files.remove(importedMarker)) throw new IOException("The import did not create " + importedMarker);
+            files.add(importedMarker);
+            for (Path file : files) {
+                String extension = file.getFileName().toString().substring(Path.of(importBase).getFileName().toString().length());
+                Files.move(file, Path.of(base + extension), StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (Durability.fromSystemProperty() == Durability.DATA_AND_DIRECTORY) {
+                AtomicFiles.syncDirectory(marker.toAbsolutePath().getParent());
+            }
+        } catch (Exception e) {
+            try {
+                deleteStoreFiles(importBase);
+            } catch (IOException cleanup) {
+                e.addSuppressed(cleanup);
+            }
+            throw new RuntimeException("Failed to import " + json + " into " + marker, e);
+        }
+    }
+
+    /** The files of the store at {@code base}: every {@code <base>.<extension>} in its directory. */
+    private static List<Path> storeFiles(String base) throws IOException {
+        Path basePath = Path.of(base).toAbsolutePath();
+        String prefix = basePath.getFileName() + ".";
+        try (Stream<Path> files = Files.list(basePath.getParent())) {
+            return files.filter(file -> file.getFileName().toString().startsWith(prefix))
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    private static void deleteStoreFiles(String base) throws IOException {
+        if (Files.notExists(Path.of(base).toAbsolutePath().getParent())) return;
+        for (Path file : storeFiles(base)) {
+            Files.deleteIfExists(file);
+        }
+    }
+}
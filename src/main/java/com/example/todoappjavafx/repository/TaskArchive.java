@@ -0,0 +1,198 @@
+package com.example.todoappjavafx.repository;
+
+import com.example.todoappjavafx.metrics.Metrics;
+import com.example.todoappjavafx.model.Task;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cold storage for completed tasks that are no longer worked on: gzip-compressed
+ * JSON arrays behind a small uncompressed header.
+ *
+ * Layout: magic, version, task count, committed length, offset of the last gzip
+ * member, then one gzip member per appended batch. An append writes its member past
+ * the committed length and only then updates the header in place, so the file is
+ * never rewritten and a torn append is cut off on the next write. The count is all
+ * that is read for progress figures; the tasks themselves are only decompressed when
+ * history is browsed or searched.
+ *
+ * A task can be appended twice when an archive run is interrupted before the tasks
+ * leave the live store; the next run appends them right after, so such copies are
+ * always in the last member. Appends count only tasks that are not in it, and reads
+ * keep the latest copy.
+ */
+public final class TaskArchive {
+
+    private static final int MAGIC = 0x54444F41; // "TDOA"
+    private static final short VERSION = 1;
+
+    private static final int H_COUNT = 6;
+    private static final int HEADER_SIZE = H_COUNT + 3 * Long.BYTES;
+
+    private final Path file;
+    private final Durability durability;
+    private Header header; // Read from the file on first use
+
+    private record Header(long count, long length, long lastMember) {
+    }
+
+    public TaskArchive(Path file, Durability durability) {
+        this.file = file;
+        this.durability = durability;
+    }
+
+    /** Number of archived tasks, from the header alone. */
+    public synchronized long count() {
+        return header().count();
+    }
+
+    /** Every archived task, oldest archived first. */
+    public synchronized List<Task> loadAll() {
+        Header current = header();
+        Map<String, Task> tasks = new LinkedHashMap<>();
+        readTasks(HEADER_SIZE, current.length(), task -> {
+            tasks.remove(task.getId()); // A later copy takes the later place
+            tasks.put(task.getId(), task);
+        });
+        Metrics.counter(Metrics.BYTES_READ).add(current.length());
+        return new ArrayList<>(tasks.values());
+    }
+
+    /**
+     * Adds tasks to the archive as one new gzip member. Only the previous member is
+     * read, to leave out of the count tasks it already holds.
+     */
+    public synchronized void append(Collection<Task> tasks) {
+        if (tasks.isEmpty()) return;
+        Header current = header();
+        Set<String> last = new HashSet<>();
+        readTasks(current.lastMember(), current.length(), task -> last.add(task.getId()));
+        long added = tasks.stream().filter(task -> !last.contains(task.getId())).count();
+        try {
+            if (Files.notExists(file)) {
+                AtomicFiles.write(file, durability, false, out -> out.write(encode(current).array()));
+            }
+            ByteArrayOutputStream member = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(member)) {
+                TaskJsonStreams.write(gzip, tasks, false);
+            }
+            Header next = new Header(current.count() + added, current.length() + member.size(), current.length());
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(current.length()); // Drops the tail of a torn append
+                channel.write(ByteBuffer.wrap(member.toByteArray()), current.length());
+                if (durability != Durability.NONE) {
+                    channel.force(false); // The member must be on disk before the header counts it
+                }
+                channel.write(encode(next), 0);
+                if (durability != Durability.NONE) {
+                    channel.force(false);
+                }
+            }
+            header = next;
+        } catch (IOException e) {
+            header = null; // The header on disk is uncertain: read it again on next use
+            throw new RuntimeException("Failed to write task archive " + file, e);
+        }
+    }
+
+    private Header header() {
+        if (header == null) {
+            if (Files.notExists(file)) return header = new Header(0, HEADER_SIZE, HEADER_SIZE);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // Keep reading until the header is complete or the file ends
+                }
+                if (buffer.position() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                    throw new IOException(file + " is not a task archive.");
+                }
+                short version = buffer.getShort(4);
+                if (version != VERSION) throw new IOException("Unsupported task archive version " + version);
+                Header read = new Header(buffer.getLong(H_COUNT), buffer.getLong(H_COUNT + 8), buffer.getLong(H_COUNT + 16));
+                if (read.length() < HEADER_SIZE || read.length() > channel.size()
+                        || read.lastMember() < HEADER_SIZE || read.lastMember() > read.length()) {
+                    throw new IOException(file + " has a damaged header.");
+                }
+                header = read;
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read task archive " + file, e);
+            }
+        }
+        return header;
+    }
+
+    private static ByteBuffer encode(Header header) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_SIZE);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(header.count());
+        out.writeLong(header.length());
+        out.writeLong(header.lastMember());
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    /** Decompresses the members in {@code [from, to)}, which must start on a member boundary. */
+    private void readTasks(long from, long to, Consumer<Task> sink) {
+        if (from >= to) return;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // Anything past the committed length is a torn append, so the channel is cut there
+            channel.position(from);
+            InputStream in = new LimitedInputStream(Channels.newInputStream(channel), to - from);
+            GZIPInputStream gzip = new GZIPInputStream(new BufferedInputStream(in));
+            TaskJsonStreams.forEachInArrays(new InputStreamReader(gzip, StandardCharsets.UTF_8), sink);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read task archive " + file, e);
+        }
+    }
+
+    /** Ends after {@code remaining} bytes of the wrapped stream. */
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long remaining) {
+            super(in);
+            this.remaining = remaining;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) return -1;
+            int b = super.read();
+            if (b >= 0) remaining--;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) return -1;
+            int n = super.read(buffer, offset, (int) Math.min(length, remaining));
+            if (n > 0) remaining -= n;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.todoappjavafx.repository;
+
+import com.example.todoappjavafx.model.Priority;
+import com.example.todoappjavafx.model.Task;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Compact binary encoding of a task file.
+ *
+ * <pre>
+ * header:  int magic "TDOB" | short version | short reserved
+ * record:  int length | payload
+ * payload: byte flags | byte priority ordinal (-1 = none)
+ *          | id as two longs (UUID) or as a string
+ *          | int due date as epoch day (if present)
+ *          | title, description as int byte length + UTF-8 (if present)
+ * </pre>
+ *
+ * Records run to the end of the file, so tasks can be written as they are
+ * produced without knowing the count up front. All values are big-endian.
+ */
+public final class TaskBinaryFormat {
+
+    static final int MAGIC = 0x54444F42; // "TDOB"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 8;
+
+    private static final int COMPLETED = 1;
+    private static final int UUID_ID = 1 << 1;
+    private static final int HAS_ID = 1 << 2;
+    private static final int HAS_DUE_DATE = 1 << 3;
+    private static final int HAS_TITLE = 1 << 4;
+    private static final int HAS_DESCRIPTION = 1 << 5;
+
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // No real task comes close; a larger length can only be damage, and is not worth allocating for
+    static final int MAX_RECORD_LENGTH = 64 * 1024 * 1024;
+
+    private TaskBinaryFormat() {
+    }
+
+    // --- Writing ---
+
+    /** Writes the header followed by one record per task. The stream is flushed but not closed. */
+    public static void write(OutputStream out, Iterable<Task> tasks) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.putInt(MAGIC).putShort(VERSION).putShort((short) 0);
+        for (Task task : tasks) {
+            buffer = encode(out, buffer, task);
+        }
+        out.write(buffer.array(), 0, buffer.position());
+        out.flush();
+    }
+
+    /** Appends one record to the buffer, draining it to {@code out} or growing it when full. */
+    private static ByteBuffer encode(OutputStream out, ByteBuffer buffer, Task task) throws IOException {
+        byte[] id = null;
+        UUID uuid = asUuid(task.getId());
+        if (uuid == null && task.getId() != null) id = task.getId().getBytes(StandardCharsets.UTF_8);
+        byte[] title = task.getTitle() != null ? task.getTitle().getBytes(StandardCharsets.UTF_8) : null;
+        byte[] description = task.getDescription() != null ? task.getDescription().getBytes(StandardCharsets.UTF_8) : null;
+
+        int length = 2
+                + (uuid != null ? 16 : 0)
+                + (id != null ? 4 + id.length : 0)
+                + (task.getDueDate() != null ? 4 : 0)
+                + (title != null ? 4 + title.length : 0)
+                + (description != null ? 4 + description.length : 0);
+
+        if (buffer.remaining() < 4 + length) {
+            out.write(buffer.array(), 0, buffer.position());
+            buffer.clear();
+            if (buffer.capacity() < 4 + length) {
+                buffer = ByteBuffer.allocate(4 + length);
+            }
+        }
+
+        int flags = (task.isCompleted() ? COMPLETED : 0)
+                | (uuid != null ? UUID_ID | HAS_ID : 0)
+                | (id != null ? HAS_ID : 0)
+                | (task.getDueDate() != null ? HAS_DUE_DATE : 0)
+                | (title != null ? HAS_TITLE : 0)
+                | (description != null ? HAS_DESCRIPTION : 0);
+        buffer.putInt(length);
+        buffer.put((byte) flags);
+        buffer.put(task.getPriority() != null ? (byte) task.getPriority().ordinal() : -1);
+        if (uuid != null) {
+            buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+        } else if (id != null) {
+            putBytes(buffer, id);
+        }
+        if (task.getDueDate() != null) buffer.putInt((int) task.getDueDate().toEpochDay());
+        if (title != null) putBytes(buffer, title);
+        if (description != null) putBytes(buffer, description);
+        return buffer;
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    /** The id as a UUID if storing it as two longs reproduces exactly the same string. */
+    private static UUID asUuid(String id) {
+        if (id == null || id.length() != 36) return null;
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // --- Reading ---
+
+    /** Reads every task in the file, in order, and hands it to {@code action}. */
+    public static void forEach(Path path, Consumer<? super Task> action) throws IOException {
+        try (Reader reader = new Reader(path)) {
+            Task task;
+            while ((task = reader.next()) != null) {
+                action.accept(task);
+            }
+        }
+    }
+
+    /**
+     * Lazily streams the tasks in the file; only the current task is held in memory.
+     * The stream must be closed to release the file.
+     */
+    public static Stream<Task> stream(Path path) throws IOException {
+        Reader reader = new Reader(path);
+        Iterator<Task> iterator = new Iterator<>() {
+            private Task next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    try {
+                        next = reader.next();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public Task next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                Task task = next;
+                next = null;
+                return task;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /** Pulls records through a reusable buffer that is refilled from the channel as needed. */
+    private static final class Reader implements AutoCloseable {
+        private final FileChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).flip();
+
+        Reader(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                if (!fill(HEADER_SIZE)) throw new EOFException("Missing header in " + path);
+                if (buffer.getInt() != MAGIC) throw new IOException(path + " is not a binary task file.");
+                short version = buffer.getShort();
+                if (version != VERSION) throw new IOException("Unsupported binary task file version " + version);
+                buffer.getShort(); // reserved
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        /** Returns the next task, or null at the end of the file. */
+        Task next() throws IOException {
+            if (!fill(4)) {
+                if (buffer.hasRemaining()) throw new EOFException("Truncated record length");
+                return null;
+            }
+            int length = buffer.getInt();
+            // Checked before anything is allocated for the record
+            long available = buffer.remaining() + channel.size() - channel.position();
+            if (length < 2 || length > MAX_RECORD_LENGTH) throw new IOException("Corrupt record length " + length);
+            if (length > available) throw new EOFException("Truncated record");
+            if (!fill(length)) throw new EOFException("Truncated record");
+            ByteBuffer record = buffer.slice(buffer.position(), length);
+            buffer.position(buffer.position() + length);
+            return decode(record);
+        }
+
+        /** Decodes one record; every read stays within it, so damage cannot spill into the next one. */
+        private static Task decode(ByteBuffer record) throws IOException {
+            try {
+                int flags = record.get();
+                int priorityOrdinal = record.get();
+                // -1 is "no priority"; anything else outside the enum is damage
+                if (priorityOrdinal < -1 || priorityOrdinal >= PRIORITIES.length) {
+                    throw new IOException("Corrupt record: unknown priority " + priorityOrdinal);
+                }
+
+                String id = null;
+                if ((flags & UUID_ID) != 0) {
+                    id = new UUID(record.getLong(), record.getLong()).toString();
+                } else if ((flags & HAS_ID) != 0) {
+                    id = getString(record);
+                }
+                LocalDate dueDate = (flags & HAS_DUE_DATE) != 0 ? LocalDate.ofEpochDay(record.getInt()) : null;
+                String title = (flags & HAS_TITLE) != 0 ? getString(record) : null;
+                String description = (flags & HAS_DESCRIPTION) != 0 ? getString(record) : null;
+                if (record.hasRemaining()) throw new IOException("Corrupt record: length mismatch");
+
+                return new Task(id, title, description,
+                        priorityOrdinal >= 0 ? PRIORITIES[priorityOrdinal] : null,
+                        dueDate, (flags & COMPLETED) != 0);
+            } catch (BufferUnderflowException | DateTimeException e) {
+                throw new IOException("Corrupt record: " + e, e);
+            }
+        }
+
+        private static String getString(ByteBuffer record) throws IOException {
+            int length = record.getInt();
+            if (length < 0 || length > record.remaining()) throw new IOException("Corrupt string length " + length);
+            String value = new String(record.array(), record.arrayOffset() + record.position(), length, StandardCharsets.UTF_8);
+            record.position(record.position() + length);
+            return value;
+        }
+
+        /** Makes sure {@code count} bytes are available; false if the file ends first. */
+        private boolean fill(int count) throws IOException {
+            if (buffer.remaining() >= count) return true;
+            if (buffer.capacity() < count) {
+                buffer = ByteBuffer.allocate(count).put(buffer).flip();
+            }
+            buffer.compact();
+            while (buffer.position() < count) {
+                if (channel.read(buffer) < 0) break;
+            }
+            buffer.flip();
+            return buffer.remaining() >= count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
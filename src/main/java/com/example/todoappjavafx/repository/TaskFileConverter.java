@@ -0,0 +1,64 @@
+package com.example.todoappjavafx.repository;
+
+import com.example.todoappjavafx.model.Task;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.stream.Stream;
+
+/**
+ * Converts task files between JSON and the binary format, one task at a time.
+ * The conversion is lossless in both directions. JSON files can also be imported
+ * into a task database ({@link JdbcTaskRepository}).
+ *
+ * Usage: {@code TaskFileConverter <input> <output>}; the direction follows the
+ * file extensions ({@code .json} or {@code .bin}), or the output is a JDBC URL
+ * (e.g. {@code jdbc:h2:file:/home/me/tasks}).
+ */
+public final class TaskFileConverter {
+
+    private TaskFileConverter() {
+    }
+
+    public static void jsonToBinary(Path json, Path binary) throws IOException {
+        try (Stream<Task> tasks = TaskJsonStreams.stream(json)) {
+            AtomicFiles.write(binary, Durability.DATA, false, out -> TaskBinaryFormat.write(out, tasks::iterator));
+        }
+    }
+
+    public static void binaryToJson(Path binary, Path json, boolean prettyPrint) throws IOException {
+        try (Stream<Task> tasks = TaskBinaryFormat.stream(binary)) {
+            AtomicFiles.write(json, Durability.DATA, false, out -> TaskJsonStreams.write(out, tasks::iterator, prettyPrint));
+        }
+    }
+
+    /** Imports a JSON file into the database at {@code url}; returns the number of tasks imported. */
+    public static long jsonToDatabase(Path json, String url) throws IOException {
+        // One transaction, synced once when it commits
+        try (JdbcTaskRepository database = new JdbcTaskRepository(url, Durability.DATA_AND_DIRECTORY);
+             Stream<Task> tasks = TaskJsonStreams.stream(json)) {
+            return database.importTasks(tasks);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to close task database " + url, e);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: TaskFileConverter <input.json|input.bin> <output.bin|output.json|jdbc:url>");
+            System.exit(2);
+        }
+        Path input = Path.of(args[0]);
+        if (args[0].endsWith(".json") && args[1].startsWith("jdbc:")) {
+            System.out.println("Imported " + jsonToDatabase(input, args[1]) + " tasks.");
+        } else if (args[0].endsWith(".json") && args[1].endsWith(".bin")) {
+            jsonToBinary(input, Path.of(args[1]));
+        } else if (args[0].endsWith(".bin") && args[1].endsWith(".json")) {
+            binaryToJson(input, Path.of(args[1]), true);
+        } else {
+            System.err.println("Expected one .json and one .bin file.");
+            System.exit(2);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.todoappjavafx.repository;
+
+import com.example.todoappjavafx.model.Task;
+import com.example.todoappjavafx.util.TaskTypeAdapter;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streaming reader/writer for task files (a JSON array of tasks).
+ *
+ * Tasks are read and written one at a time with Gson's {@link JsonReader} /
+ * {@link JsonWriter}, so neither a parse tree nor an intermediate list of the
+ * whole file is ever built. Output is compact unless pretty printing is asked for.
+ */
+public final class TaskJsonStreams {
+
+    private static final TypeAdapter<Task> TASK_ADAPTER = new TaskTypeAdapter();
+
+    private TaskJsonStreams() {
+    }
+
+    /** Reads every task in the file, in order, and hands it to {@code action}. */
+    public static void forEach(Path path, Consumer<? super Task> action) throws IOException {
+        try (Stream<Task> tasks = stream(path)) {
+            tasks.forEach(action);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Lazily streams the tasks in the file; only the current task is held in memory.
+     * The stream must be closed to release the file.
+     */
+    public static Stream<Task> stream(Path path) throws IOException {
+        if (Files.size(path) == 0) return Stream.empty();
+        return stream(Files.newBufferedReader(path));
+    }
+
+    /** Like {@link #stream(Path)}, from any reader (e.g. a decompressing one); closing the stream closes it. */
+    public static Stream<Task> stream(Reader reader) throws IOException {
+        try {
+            JsonReader json = new JsonReader(reader);
+            if (json.peek() == JsonToken.NULL) {
+                reader.close();
+                return Stream.empty();
+            }
+            json.beginArray();
+            Iterator<Task> iterator = new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    try {
+                        return json.hasNext();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                @Override
+                public Task next() {
+                    if (!hasNext()) throw new NoSuchElementException();
+                    try {
+                        return TASK_ADAPTER.read(json);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                            Spliterator.ORDERED | Spliterator.NONNULL), false)
+                    .onClose(() -> {
+                        try {
+                            reader.close();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads any number of JSON arrays of tasks written back to back (e.g. the members of an
+     * appended gzip file) and hands every task to {@code action}. The reader is closed.
+     */
+    public static void forEachInArrays(Reader reader, Consumer<? super Task> action) throws IOException {
+        try (JsonReader json = new JsonReader(reader)) {
+            json.setLenient(true); // Allows more than one top-level value
+            while (json.peek() != JsonToken.END_DOCUMENT) {
+                json.beginArray();
+                while (json.hasNext()) {
+                    action.accept(TASK_ADAPTER.read(json));
+                }
+                json.endArray();
+            }
+        }
+    }
+
+    /** Writes the tasks as a JSON array. The stream is flushed but not closed. */
+    public static void write(OutputStream out, Iterable<Task> tasks, boolean prettyPrint) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        JsonWriter json = new JsonWriter(writer);
+        if (prettyPrint) {
+            json.setIndent("  ");
+        }
+        json.beginArray();
+        for (Task task : tasks) {
+            TASK_ADAPTER.write(json, task);
+        }
+        json.endArray();
+        json.flush();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.todoappjavafx.repository;
+
+import com.example.todoappjavafx.model.Priority;
+import com.example.todoappjavafx.model.Task;
+import com.example.todoappjavafx.model.TaskPage;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Queries a task store can answer without handing every task to the caller.
+ * {@link com.example.todoappjavafx.service.TaskService} uses these when its
+ * repository implements them and falls back to scanning {@code findAll()} otherwise.
+ */
+public interface TaskQueries {
+
+    List<Task> findByPriority(Priority priority);
+
+    /** Tasks due between {@code from} and {@code to}, both inclusive, ordered by due date. */
+    List<Task> findDueBetween(LocalDate from, LocalDate to);
+
+    /** Pending tasks due before {@code today}, ordered by due date. */
+    List<Task> findOverdue(LocalDate today);
+
+    /** Tasks whose title or description has words starting with every term of the query, best matches first. */
+    List<Task> search(String query);
+
+    /**
+     * One page of the tasks matching {@code query} (blank = any) and {@code priority} (null = any),
+     * best match first while searching, with the number of matches. Only the page's tasks are read.
+     */
+    TaskPage findMatchingPage(String query, Priority priority, int offset, int limit);
+
+    long countAll();
+
+    long countCompleted();
+}
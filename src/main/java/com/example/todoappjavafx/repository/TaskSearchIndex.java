@@ -0,0 +1,380 @@
+package com.example.todoappjavafx.repository;
+
+import com.example.todoappjavafx.model.Task;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Inverted index over the words of task titles and descriptions.
+ *
+ * Every query term is matched as a prefix, so results follow the user as they
+ * type; a task must match all terms. Tasks are ranked by how often the terms
+ * occur, title words counting more than description words and whole-word
+ * matches more than prefixes.
+ *
+ * The index can be saved next to the task file and loaded at startup. Each
+ * entry carries a SHA-256 digest of the text it was built from, so {@link #put}
+ * skips tasks that have not changed and only edited tasks are re-tokenized.
+ */
+public class TaskSearchIndex {
+
+    private static final int MAGIC = 0x54444F53; // "TDOS"
+    private static final short VERSION = 2;
+    private static final int DIGEST_SIZE = 32;
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_MATCH_BONUS = 2;
+
+    /** The words of one task and how much each counts, plus the digest of the text they came from. */
+    private record Entry(String id, byte[] digest, String[] terms, int[] weights) {
+    }
+
+    /** Tasks containing one term, as parallel arrays of task numbers and weights. */
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] weights = new int[4];
+        int size;
+
+        void add(int doc, int weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+
+        void remove(int doc) {
+            for (int i = 0; i < size; i++) {
+                if (docs[i] == doc) {
+                    size--;
+                    docs[i] = docs[size];
+                    weights[i] = weights[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private final Path file; // null for an index that is never saved
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    // Tasks are numbered so postings and per-query scores can be plain int arrays
+    private final List<Entry> docs = new ArrayList<>();
+    private final Map<String, Integer> docNumbers = new HashMap<>();
+    private final Deque<Integer> freeDocNumbers = new ArrayDeque<>();
+    // Per-query scratch space indexed by task number, all zero between queries
+    private int[] matchedTerms = new int[0];
+    private int[] scores = new int[0];
+    private boolean dirty;
+
+    /** An in-memory index. */
+    public TaskSearchIndex() {
+        this.file = null;
+    }
+
+    private TaskSearchIndex(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Loads the index saved at {@code file}, or starts an empty one if there is none
+     * or it cannot be read. {@link #save()} writes it back to the same file.
+     */
+    public static TaskSearchIndex open(Path file) {
+        TaskSearchIndex index = new TaskSearchIndex(file);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            index.read(in, Files.size(file));
+        } catch (NoSuchFileException e) {
+            // First start: built from the tasks as they are indexed
+        } catch (IOException | RuntimeException e) {
+            // Only a cache, rebuilt from the tasks
+            System.err.println("Search index " + file + " cannot be read, rebuilding it: " + e.getMessage());
+            index.postings.clear();
+            index.docs.clear();
+            index.docNumbers.clear();
+            index.freeDocNumbers.clear();
+        }
+        return index;
+    }
+
+    // --- Updates ---
+
+    /** Indexes the task's title and description, unless they are unchanged since it was last indexed. */
+    public synchronized void put(Task task) {
+        byte[] digest = textDigest(task);
+        Integer previous = docNumbers.get(task.getId());
+        if (previous != null && Arrays.equals(docs.get(previous).digest(), digest)) return;
+        if (previous != null) remove(task.getId());
+
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String term : tokenize(task.getTitle())) weights.merge(term, TITLE_WEIGHT, Integer::sum);
+        for (String term : tokenize(task.getDescription())) weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum);
+
+        String[] terms = new String[weights.size()];
+        int[] termWeights = new int[weights.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+            terms[i] = weight.getKey();
+            termWeights[i] = weight.getValue();
+            i++;
+        }
+        add(new Entry(task.getId(), digest, terms, termWeights));
+        dirty = true;
+    }
+
+    public synchronized void remove(String id) {
+        Integer doc = docNumbers.remove(id);
+        if (doc == null) return;
+        for (String term : docs.get(doc).terms()) {
+            Postings matches = postings.get(term);
+            if (matches == null) continue;
+            matches.remove(doc);
+            if (matches.size == 0) postings.remove(term);
+        }
+        docs.set(doc, null);
+        freeDocNumbers.push(doc);
+        dirty = true;
+    }
+
+    /** Drops every task not in {@code ids}, e.g. ones deleted while the saved index was out of date. */
+    public synchronized void retainAll(Collection<String> ids) {
+        List<String> stale = docNumbers.keySet().stream().filter(id -> !ids.contains(id)).toList();
+        stale.forEach(this::remove);
+    }
+
+    private void add(Entry entry) {
+        int doc;
+        if (freeDocNumbers.isEmpty()) {
+            doc = docs.size();
+            docs.add(entry);
+        } else {
+            doc = freeDocNumbers.pop();
+            docs.set(doc, entry);
+        }
+        docNumbers.put(entry.id(), doc);
+        for (int i = 0; i < entry.terms().length; i++) {
+            postings.computeIfAbsent(entry.terms()[i], term -> new Postings()).add(doc, entry.weights()[i]);
+        }
+    }
+
+    // --- Queries ---
+
+    /**
+     * Ids of the tasks matching every term of the query, most relevant first.
+     * A query without any words matches nothing.
+     */
+    public synchronized List<String> search(String query) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) return List.of();
+
+        // Rarest term first: it fixes the candidates, later terms only count for tasks matching every earlier one
+        terms.sort(Comparator.comparingLong(this::countPrefixMatches));
+        if (matchedTerms.length < docs.size()) {
+            matchedTerms = new int[docs.size() * 2];
+            scores = new int[docs.size() * 2];
+        }
+        int[] candidates = new int[16];
+        int candidateCount = 0;
+        for (int t = 0; t < terms.size(); t++) {
+            String prefix = terms.get(t);
+            for (Map.Entry<String, Postings> posting : prefixRange(prefix).entrySet()) {
+                int bonus = posting.getKey().length() == prefix.length() ? EXACT_MATCH_BONUS : 1;
+                Postings matches = posting.getValue();
+                for (int i = 0; i < matches.size; i++) {
+                    int doc = matches.docs[i];
+                    if (matchedTerms[doc] == t) {
+                        matchedTerms[doc] = t + 1;
+                        if (t == 0) {
+                            if (candidateCount == candidates.length) {
+                                candidates = Arrays.copyOf(candidates, candidateCount * 2);
+                            }
+                            candidates[candidateCount++] = doc;
+                        }
+                    } else if (matchedTerms[doc] != t + 1) {
+                        continue; // Missed an earlier term, or this term already counted via another word
+                    }
+                    scores[doc] += matches.weights[i] * bonus;
+                }
+            }
+        }
+
+        // Sort (score, task number) pairs packed into longs, highest score first,
+        // and reset the scratch arrays for the next query on the way
+        long[] ranked = new long[candidateCount];
+        int count = 0;
+        for (int c = 0; c < candidateCount; c++) {
+            int doc = candidates[c];
+            if (matchedTerms[doc] == terms.size()) {
+                ranked[count++] = ((long) -scores[doc] << 32) | doc;
+            }
+            matchedTerms[doc] = 0;
+            scores[doc] = 0;
+        }
+        Arrays.sort(ranked, 0, count);
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(docs.get((int) ranked[i]).id());
+        }
+        return ids;
+    }
+
+    private long countPrefixMatches(String prefix) {
+        long count = 0;
+        for (Postings matches : prefixRange(prefix).values()) {
+            count += matches.size;
+        }
+        return count;
+    }
+
+    private NavigableMap<String, Postings> prefixRange(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    public synchronized int size() {
+        return docNumbers.size();
+    }
+
+    /**
+     * Whether the task would be found by {@code query}, checked directly against its
+     * text; used to narrow an earlier result without going back to the index.
+     */
+    public static boolean matches(String query, Task task) {
+        List<String> words = tokenize(task.getTitle());
+        words.addAll(tokenize(task.getDescription()));
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) return false;
+        for (String term : terms) {
+            if (words.stream().noneMatch(word -> word.startsWith(term))) return false;
+        }
+        return true;
+    }
+
+    /** Lower-cased runs of letters and digits. */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) return terms;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /** Digest of title and description, each length-prefixed so that no two pairs encode alike. */
+    private static byte[] textDigest(Task task) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required of every Java platform", e);
+        }
+        for (String text : new String[]{task.getTitle(), task.getDescription()}) {
+            byte[] bytes = text != null ? text.getBytes(StandardCharsets.UTF_8) : new byte[0];
+            digest.update(ByteBuffer.allocate(4).putInt(text != null ? bytes.length : -1).array());
+            digest.update(bytes);
+        }
+        return digest.digest();
+    }
+
+    // --- Persistence ---
+
+    /**
+     * Writes the index to its file if it changed since it was loaded or last saved.
+     *
+     * Layout: magic, version, the term dictionary, then per task its id, text digest
+     * and (term number, weight) pairs. Postings are rebuilt from the task entries
+     * on load, which needs no tokenizing.
+     */
+    public synchronized void save() throws IOException {
+        if (file == null || !dirty) return;
+        AtomicFiles.write(file, Durability.NONE, false, stream -> {
+            DataOutputStream out = new DataOutputStream(stream);
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+
+            Map<String, Integer> termNumbers = new HashMap<>(postings.size() * 2);
+            out.writeInt(postings.size());
+            for (String term : postings.keySet()) {
+                termNumbers.put(term, termNumbers.size());
+                out.writeUTF(term);
+            }
+
+            out.writeInt(docNumbers.size());
+            for (Entry entry : docs) {
+                if (entry == null) continue;
+                out.writeUTF(entry.id());
+                out.write(entry.digest());
+                out.writeInt(entry.terms().length);
+                for (int i = 0; i < entry.terms().length; i++) {
+                    out.writeInt(termNumbers.get(entry.terms()[i]));
+                    out.writeInt(entry.weights()[i]);
+                }
+            }
+            out.flush();
+        });
+        dirty = false;
+    }
+
+    private void read(DataInputStream in, long fileSize) throws IOException {
+        if (in.readInt() != MAGIC) throw new IOException(file + " is not a task search index.");
+        short version = in.readShort();
+        if (version != VERSION) throw new IOException("Unsupported search index version " + version);
+
+        String[] dictionary = new String[count(in, fileSize)];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = in.readUTF();
+        }
+
+        int count = count(in, fileSize);
+        for (int t = 0; t < count; t++) {
+            String id = in.readUTF();
+            byte[] digest = new byte[DIGEST_SIZE];
+            in.readFully(digest);
+            String[] terms = new String[count(in, fileSize)];
+            int[] weights = new int[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                terms[i] = dictionary[in.readInt()];
+                weights[i] = in.readInt();
+            }
+            add(new Entry(id, digest, terms, weights));
+        }
+    }
+
+    /** A count of items that each take at least a byte, so a damaged one cannot exceed the file. */
+    private int count(DataInputStream in, long fileSize) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > fileSize) throw new IOException(file + " is damaged: count " + count);
+        return count;
+    }
+}
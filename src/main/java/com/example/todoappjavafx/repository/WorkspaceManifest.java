@@ -0,0 +1,97 @@
+package com.example.todoappjavafx.repository;
+
+import com.example.todoappjavafx.model.WorkspaceSummary;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The small file listing every task list with its last known counts, plus the
+ * one that was open last, e.g.
+ * {@code {"active":"Tasks","workspaces":[{"name":"Tasks","file":"tasks.json","tasks":12,"completed":3,"archived":40}]}}.
+ *
+ * Read once at startup so the sidebar can show every list without opening its store.
+ *
+ * @param active     name of the list to open at startup
+ * @param workspaces the lists, in sidebar order
+ */
+public record WorkspaceManifest(String active, List<WorkspaceSummary> workspaces) {
+
+    /** Reads the manifest, or returns null if the file does not exist yet. */
+    public static WorkspaceManifest read(Path file) throws IOException {
+        if (Files.notExists(file)) return null;
+        String active = null;
+        List<WorkspaceSummary> workspaces = new ArrayList<>();
+        try (Reader reader = Files.newBufferedReader(file);
+             JsonReader json = new JsonReader(reader)) {
+            json.beginObject();
+            while (json.hasNext()) {
+                switch (json.nextName()) {
+                    case "active" -> active = json.nextString();
+                    case "workspaces" -> {
+                        json.beginArray();
+                        while (json.hasNext()) {
+                            workspaces.add(readSummary(json));
+                        }
+                        json.endArray();
+                    }
+                    default -> json.skipValue();
+                }
+            }
+            json.endObject();
+        }
+        return new WorkspaceManifest(active, workspaces);
+    }
+
+    private static WorkspaceSummary readSummary(JsonReader json) throws IOException {
+        String name = null;
+        String file = null;
+        long tasks = 0;
+        long completed = 0;
+        long archived = 0;
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "name" -> name = json.nextString();
+                case "file" -> file = json.nextString();
+                case "tasks" -> tasks = json.nextLong();
+                case "completed" -> completed = json.nextLong();
+                case "archived" -> archived = json.nextLong();
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+        if (name == null || file == null) throw new IOException("Workspace entry without a name or file.");
+        return new WorkspaceSummary(name, file, tasks, completed, archived);
+    }
+
+    public void write(Path file, Durability durability) throws IOException {
+        AtomicFiles.write(file, durability, false, out -> {
+            JsonWriter json = new JsonWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            json.setIndent("  ");
+            json.beginObject();
+            json.name("active").value(active);
+            json.name("workspaces").beginArray();
+            for (WorkspaceSummary workspace : workspaces) {
+                json.beginObject();
+                json.name("name").value(workspace.name());
+                json.name("file").value(workspace.file());
+                json.name("tasks").value(workspace.taskCount());
+                json.name("completed").value(workspace.completedCount());
+                json.name("archived").value(workspace.archivedCount());
+                json.endObject();
+            }
+            json.endArray();
+            json.endObject();
+            json.flush();
+        });
+    }
+}
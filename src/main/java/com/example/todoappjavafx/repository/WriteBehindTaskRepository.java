@@ -0,0 +1,319 @@
+package com.example.todoappjavafx.repository;
+
+import com.example.todoappjavafx.model.Task;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind layer that coalesces rapid mutations before they reach the underlying repository.
+ *
+ * Mutations are queued per task id, keeping only the latest state, and are
+ * written out when the window elapses or once {@code maxPending} tasks are
+ * queued, whichever comes first, as at most one batch call per kind of
+ * mutation. Reads see queued changes immediately.
+ *
+ * A flush takes the queue under the lock but writes it without holding it, so
+ * mutations keep queueing while the underlying repository is busy. A failed
+ * background flush puts the writes back in the queue, tells the failure handler
+ * once per run of failures and retries with a growing delay.
+ * Anything still queued when the process dies is lost, so callers must
+ * {@link #flush()} on shutdown.
+ */
+public class WriteBehindTaskRepository implements Repository<Task>, AutoCloseable {
+
+    public static final Duration DEFAULT_WINDOW = Duration.ofMillis(50);
+    public static final int DEFAULT_MAX_PENDING = 256;
+
+    private static final long FIRST_RETRY_MILLIS = 500;
+    private static final long MAX_RETRY_MILLIS = 30_000;
+
+    private enum Kind { SAVE, UPDATE, DELETE }
+
+    private record PendingWrite(Kind kind, Task task) {
+    }
+
+    private final Repository<Task> delegate;
+    private final long windowMillis;
+    private final int maxPending;
+
+    // Insertion-ordered so writes reach the delegate in the order they were first made
+    private Map<String, PendingWrite> pending = new LinkedHashMap<>();
+    // Taken from the queue and being written; still overlaid on reads until the write is done
+    private Map<String, PendingWrite> inFlight = Map.of();
+    private final Object flushLock = new Object(); // One flush at a time; never held with the monitor waiting on it
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "write-behind-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ScheduledFuture<?> scheduledFlush;
+    private int consecutiveFailures;
+    private boolean failureReported; // Whether the current run of failures reached the failure handler
+    private volatile Consumer<RuntimeException> failureHandler = error -> { };
+
+    public WriteBehindTaskRepository(Repository<Task> delegate) {
+        this(delegate, DEFAULT_WINDOW, DEFAULT_MAX_PENDING);
+    }
+
+    public WriteBehindTaskRepository(Repository<Task> delegate, Duration window, int maxPending) {
+        this.delegate = delegate;
+        this.windowMillis = window.toMillis();
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Told when a background flush fails, on the flusher thread. Called once per run of
+     * failures; the writes stay queued and are retried until a flush succeeds.
+     */
+    public void setFailureHandler(Consumer<RuntimeException> failureHandler) {
+        this.failureHandler = failureHandler;
+    }
+
+    @Override
+    public void save(Task task) {
+        synchronized (this) {
+            enqueue(task.getId(), Kind.SAVE, task);
+        }
+        flushIfFull();
+    }
+
+    @Override
+    public void update(Task task) {
+        synchronized (this) {
+            enqueue(task.getId(), Kind.UPDATE, task);
+        }
+        flushIfFull();
+    }
+
+    @Override
+    public void delete(String id) {
+        synchronized (this) {
+            enqueue(id, Kind.DELETE, null);
+        }
+        flushIfFull();
+    }
+
+    // Batches are queued as a whole before a flush can take the queue, so they are never split
+
+    @Override
+    public void saveAll(Collection<Task> tasks) {
+        synchronized (this) {
+            tasks.forEach(task -> enqueue(task.getId(), Kind.SAVE, task));
+        }
+        flushIfFull();
+    }
+
+    @Override
+    public void updateAll(Collection<Task> tasks) {
+        synchronized (this) {
+            tasks.forEach(task -> enqueue(task.getId(), Kind.UPDATE, task));
+        }
+        flushIfFull();
+    }
+
+    @Override
+    public void deleteAll(Collection<String> ids) {
+        synchronized (this) {
+            ids.forEach(id -> enqueue(id, Kind.DELETE, null));
+        }
+        flushIfFull();
+    }
+
+    private void enqueue(String id, Kind kind, Task task) {
+        PendingWrite previous = pending.get(id);
+        Kind merged = kind;
+        if (kind == Kind.UPDATE && previous != null) {
+            // An update keeps a queued insert an insert, and cannot resurrect a queued delete
+            merged = previous.kind();
+            if (merged == Kind.DELETE) return;
+        } else if (kind == Kind.UPDATE && inFlight.containsKey(id) && inFlight.get(id).kind() == Kind.DELETE) {
+            return;
+        }
+        pending.put(id, new PendingWrite(merged, task));
+        if (scheduledFlush == null) {
+            scheduledFlush = scheduler.schedule(this::flushInBackground, windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** A full queue is written by the caller, which holds back writers that outpace the disk. */
+    private void flushIfFull() {
+        boolean full;
+        synchronized (this) {
+            full = pending.size() >= maxPending;
+        }
+        if (full) flush();
+    }
+
+    private void flushInBackground() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Callers of a foreground flush get the error themselves, so a run may start unreported
+            boolean report;
+            synchronized (this) {
+                report = !failureReported;
+                failureReported = true;
+            }
+            if (report) failureHandler.accept(e);
+        }
+    }
+
+    /**
+     * Writes every queued mutation to the underlying repository.
+     * On failure the unwritten mutations are queued again, a retry is scheduled and the error is rethrown.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<String, PendingWrite> batch;
+            synchronized (this) {
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                    scheduledFlush = null;
+                }
+                if (pending.isEmpty()) return;
+                batch = pending;
+                pending = new LinkedHashMap<>();
+                inFlight = batch;
+            }
+
+            List<String> deletes = new ArrayList<>();
+            List<Task> saves = new ArrayList<>();
+            List<Task> updates = new ArrayList<>();
+            batch.forEach((id, write) -> {
+                switch (write.kind()) {
+                    case DELETE -> deletes.add(id);
+                    case SAVE -> saves.add(write.task());
+                    case UPDATE -> updates.add(write.task());
+                }
+            });
+
+            // Ids are unique within a flush, so the three batches are independent of each other
+            Kind failed = Kind.DELETE;
+            try {
+                delegate.deleteAll(deletes);
+                failed = Kind.SAVE;
+                delegate.saveAll(saves);
+                failed = Kind.UPDATE;
+                delegate.updateAll(updates);
+            } catch (RuntimeException e) {
+                Kind firstUnwritten = failed;
+                synchronized (this) {
+                    batch.forEach((id, write) -> {
+                        if (write.kind().ordinal() >= firstUnwritten.ordinal()) requeue(id, write);
+                    });
+                    inFlight = Map.of();
+                    consecutiveFailures++;
+                    long delay = Math.min(MAX_RETRY_MILLIS, FIRST_RETRY_MILLIS << Math.min(consecutiveFailures - 1, 16));
+                    if (scheduledFlush != null) scheduledFlush.cancel(false);
+                    if (!scheduler.isShutdown()) {
+                        scheduledFlush = scheduler.schedule(this::flushInBackground, delay, TimeUnit.MILLISECONDS);
+                    }
+                }
+                throw e;
+            }
+            synchronized (this) {
+                inFlight = Map.of();
+                consecutiveFailures = 0;
+                failureReported = false;
+            }
+        }
+    }
+
+    /** Puts back an unwritten mutation without overwriting a newer one for the same task. */
+    private void requeue(String id, PendingWrite write) {
+        PendingWrite newer = pending.get(id);
+        if (newer == null) {
+            pending.put(id, write);
+        } else if (write.kind() == Kind.SAVE && newer.kind() == Kind.UPDATE) {
+            pending.put(id, new PendingWrite(Kind.SAVE, newer.task())); // The delegate has never seen the task
+        }
+    }
+
+    /** In-flight mutations with the newer queued ones on top, merged like {@link #enqueue}. */
+    private Map<String, PendingWrite> queuedWrites() {
+        Map<String, PendingWrite> writes = new LinkedHashMap<>(inFlight);
+        pending.forEach((id, write) -> {
+            PendingWrite older = writes.get(id);
+            boolean stillInsert = older != null && older.kind() == Kind.SAVE && write.kind() == Kind.UPDATE;
+            writes.put(id, stillInsert ? new PendingWrite(Kind.SAVE, write.task()) : write);
+        });
+        return writes;
+    }
+
+    // Reads take the queued mutations under the lock, then read the delegate without it, so they do
+    // not hold up queueing while a flush writes. Whatever the delegate returns is at least as new as
+    // the mutations taken, which were newest at the time; the I/O thread does not read and write at once.
+
+    @Override
+    public Optional<Task> findById(String id) {
+        PendingWrite write;
+        synchronized (this) {
+            write = pending.containsKey(id) ? pending.get(id) : inFlight.get(id);
+        }
+        if (write == null) return delegate.findById(id);
+        if (write.kind() == Kind.DELETE) return Optional.empty();
+        return Optional.of(write.task());
+    }
+
+    @Override
+    public List<Task> findAll() {
+        Map<String, PendingWrite> unseen;
+        synchronized (this) {
+            unseen = queuedWrites();
+        }
+        List<Task> tasks = delegate.findAll();
+        if (unseen.isEmpty()) return tasks;
+
+        List<Task> merged = new ArrayList<>(tasks.size() + unseen.size());
+        for (Task task : tasks) {
+            PendingWrite write = unseen.remove(task.getId());
+            if (write == null) {
+                merged.add(task);
+            } else if (write.kind() != Kind.DELETE) {
+                merged.add(write.task());
+            }
+        }
+        // Queued inserts that the delegate has not seen yet go last, as they would after a flush
+        for (PendingWrite write : unseen.values()) {
+            if (write.kind() == Kind.SAVE) {
+                merged.add(write.task());
+            }
+        }
+        return merged;
+    }
+
+    /** Queued writes stay overlaid on whatever the underlying repository reloaded. */
+    @Override
+    public void setExternalChangeListener(Runnable listener) {
+        delegate.setExternalChangeListener(listener);
+    }
+
+    @Override
+    public void checkForExternalChanges() {
+        delegate.checkForExternalChanges();
+    }
+
+    /** Flushes what is queued, stops the timer and closes the underlying repository. */
+    @Override
+    public void close() throws Exception {
+        try {
+            flush();
+        } finally {
+            scheduler.shutdownNow();
+            if (delegate instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.todoappjavafx.service;
+
+import com.example.todoappjavafx.model.Priority;
+import com.example.todoappjavafx.model.Task;
+import com.example.todoappjavafx.model.TaskPage;
+import javafx.application.Platform;
+import javafx.scene.control.Alert;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous front end for {@link TaskService} so the JavaFX Application Thread never waits on disk.
+ *
+ * Every call runs on a single virtual I/O thread, which keeps repository
+ * access serialized and in submission order. Use {@link #onFxThread} to apply
+ * a result back on the FX thread.
+ *
+ * Tasks cross between the threads as copies: tasks passed in are copied on the
+ * caller's thread, and tasks returned or reported in change events are copied
+ * before they leave the I/O thread. The UI can then edit its instances freely
+ * while the stores and their background writers read theirs.
+ */
+public class AsyncTaskService implements AutoCloseable {
+
+    /** Runs continuations on the JavaFX Application Thread. */
+    public static final Executor FX_THREAD = Platform::runLater;
+
+    // Only read and written on the I/O thread, which runs the opener before any call
+    private TaskService taskService;
+    private final List<TaskChangeListener> listeners = new ArrayList<>(); // As registered on taskService
+    private final ExecutorService ioExecutor;
+    private final CompletableFuture<Void> opened;
+
+    public AsyncTaskService(TaskService taskService) {
+        this(() -> taskService);
+    }
+
+    /**
+     * Opens the service on the I/O thread instead of the caller's, so a large store
+     * can be read while the window is already showing. Calls made meanwhile queue
+     * up behind the opener.
+     */
+    public AsyncTaskService(Supplier<TaskService> opener) {
+        this.ioExecutor = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("task-io").factory());
+        this.opened = run(() -> taskService = opener.get());
+    }
+
+    /** Completes once the service is open, or with the error that kept it from opening. */
+    public CompletableFuture<Void> opened() {
+        return opened;
+    }
+
+    /**
+     * Sends every later call to the service {@code opener} returns (e.g. another task list),
+     * opened on the I/O thread. Change listeners move over to it; the previous service is
+     * left open for its owner to close or keep.
+     */
+    public CompletableFuture<Void> switchTo(Supplier<TaskService> opener) {
+        return run(() -> {
+            TaskService next = opener.get();
+            listeners.forEach(taskService::removeChangeListener);
+            taskService = next;
+            listeners.forEach(taskService::addChangeListener);
+        });
+    }
+
+    // Create
+    public CompletableFuture<Void> addTask(Task task) {
+        Task copy = task.copy();
+        return run(() -> taskService.addTask(copy));
+    }
+
+    // Read
+    public CompletableFuture<List<Task>> getAllTasks() {
+        return supply(() -> copies(taskService.getAllTasks()));
+    }
+
+    public CompletableFuture<Long> countTasks() {
+        return supply(() -> taskService.countTasks());
+    }
+
+    public CompletableFuture<TaskPage> findPage(String query, Priority priority, int offset, int limit) {
+        return supply(() -> {
+            TaskPage page = taskService.findPage(query, priority, offset, limit);
+            return new TaskPage(copies(page.tasks()), page.offset(), page.total());
+        });
+    }
+
+    public CompletableFuture<Optional<Task>> getTaskById(String id) {
+        return supply(() -> taskService.getTaskById(id).map(Task::copy));
+    }
+
+    // Update
+    public CompletableFuture<Void> updateTask(Task updatedTask) {
+        Task copy = updatedTask.copy();
+        return run(() -> taskService.updateTask(copy));
+    }
+
+    // Delete
+    public CompletableFuture<Void> deleteTask(String id) {
+        return run(() -> taskService.deleteTask(id));
+    }
+
+    // Bulk operations
+    public CompletableFuture<Void> addTasks(Collection<Task> tasks) {
+        List<Task> copy = copies(tasks);
+        return run(() -> taskService.addTasks(copy));
+    }
+
+    public CompletableFuture<Void> updateTasks(Collection<Task> tasks) {
+        List<Task> copy = copies(tasks);
+        return run(() -> taskService.updateTasks(copy));
+    }
+
+    public CompletableFuture<Void> deleteTasks(Collection<String> ids) {
+        List<String> copy = List.copyOf(ids);
+        return run(() -> taskService.deleteTasks(copy));
+    }
+
+    public CompletableFuture<Integer> deleteCompletedTasks() {
+        return supply(() -> taskService.deleteCompletedTasks());
+    }
+
+    // Filter by priority
+    public CompletableFuture<List<Task>> filterByPriority(Priority priority) {
+        return supply(() -> copies(taskService.filterByPriority(priority)));
+    }
+
+    // Full-text search
+    public CompletableFuture<List<Task>> searchTasks(String query) {
+        return supply(() -> copies(taskService.searchTasks(query)));
+    }
+
+    // Due date queries
+    public CompletableFuture<List<Task>> getTasksDueBetween(LocalDate from, LocalDate to) {
+        return supply(() -> copies(taskService.getTasksDueBetween(from, to)));
+    }
+
+    public CompletableFuture<List<Task>> getOverdueTasks() {
+        return supply(() -> copies(taskService.getOverdueTasks()));
+    }
+
+    public CompletableFuture<List<Task>> getTasksDueThisWeek() {
+        return supply(() -> copies(taskService.getTasksDueThisWeek()));
+    }
+
+    public CompletableFuture<Long> countArchived() {
+        return supply(() -> taskService.countArchived());
+    }
+
+    // Archived (completed, long untouched) tasks; reads the whole archive
+    public CompletableFuture<List<Task>> getArchivedTasks() {
+        return supply(() -> copies(taskService.getArchivedTasks()));
+    }
+
+    // Calculate completion progress
+    public CompletableFuture<Double> getCompletionProgress() {
+        return supply(() -> taskService.getCompletionProgress());
+    }
+
+    /** Registers a listener that is told about every stored change on the FX thread. */
+    public void addChangeListener(TaskChangeListener listener) {
+        // Registered on the I/O thread, ahead of any change a later call could make
+        run(() -> {
+            TaskChangeListener onFx = changes -> {
+                List<TaskChange> copied = changes.stream()
+                        .map(change -> change.task() != null
+                                ? new TaskChange(change.type(), change.id(), change.task().copy())
+                                : change)
+                        .toList();
+                Platform.runLater(() -> listener.tasksChanged(copied));
+            };
+            listeners.add(onFx);
+            taskService.addChangeListener(onFx);
+        });
+    }
+
+    private static List<Task> copies(Collection<Task> tasks) {
+        List<Task> copies = new ArrayList<>(tasks.size());
+        tasks.forEach(task -> copies.add(task.copy()));
+        return copies;
+    }
+
+    private CompletableFuture<Void> run(Runnable action) {
+        return CompletableFuture.runAsync(action, ioExecutor);
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> action) {
+        return CompletableFuture.supplyAsync(action, ioExecutor);
+    }
+
+    /**
+     * Hands the result of {@code future} to {@code action} on the FX thread.
+     * Failures are logged and shown to the user instead of being lost; cancelled calls are ignored.
+     */
+    public static <T> CompletableFuture<Void> onFxThread(CompletableFuture<T> future, Consumer<? super T> action) {
+        return future.handleAsync((result, error) -> {
+            if (error instanceof CancellationException) {
+                return null; // Cancelled on purpose, e.g. a search superseded by a newer one
+            }
+            if (error != null) {
+                error.printStackTrace();
+                showError("Task storage error: ", error);
+            } else {
+                action.accept(result);
+            }
+            return null;
+        }, FX_THREAD);
+    }
+
+    /**
+     * Tells the user about a failure that has no caller waiting for it, e.g. a background
+     * write. Safe to call from any thread.
+     */
+    public static void reportError(String context, Throwable error) {
+        if (Platform.isFxApplicationThread()) {
+            showError(context, error);
+        } else {
+            Platform.runLater(() -> showError(context, error));
+        }
+    }
+
+    private static void showError(String context, Throwable error) {
+        new Alert(Alert.AlertType.ERROR, context + rootMessage(error)).show();
+    }
+
+    private static String rootMessage(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.toString();
+    }
+
+    /** Lets already submitted work (pending writes in particular) finish, then stops the I/O thread. */
+    @Override
+    public void close() {
+        ioExecutor.shutdown();
+        try {
+            if (!ioExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                System.err.println("Task I/O did not finish within 10 seconds; some changes may be lost.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.todoappjavafx.service;
+
+import com.example.todoappjavafx.model.Task;
+import com.example.todoappjavafx.repository.CompletionLedger;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Archive policy: tasks completed more than {@code todo.archiveAfterDays} days ago
+ * (default 30; negative turns archiving off) are moved out of the store into its
+ * archive, so they are no longer loaded, indexed or listed.
+ *
+ * The completion day comes from a {@link CompletionLedger} this listener keeps up to
+ * date. Tasks that were already completed when first seen count from that day, except
+ * on the first run with a new ledger (i.e. the first start after archiving was added):
+ * tasks completed before then count from their due date when it is earlier, so a long
+ * finished backlog is archived right away instead of 30 days after the upgrade.
+ */
+public class TaskArchiver implements TaskChangeListener {
+
+    public static final String DAYS_PROPERTY = "todo.archiveAfterDays";
+    private static final int DEFAULT_DAYS = 30;
+
+    private final TaskService taskService;
+    private final CompletionLedger ledger;
+    private final int archiveAfterDays;
+
+    public TaskArchiver(TaskService taskService, CompletionLedger ledger) {
+        this(taskService, ledger, Integer.getInteger(DAYS_PROPERTY, DEFAULT_DAYS));
+    }
+
+    public TaskArchiver(TaskService taskService, CompletionLedger ledger, int archiveAfterDays) {
+        this.taskService = taskService;
+        this.ledger = ledger;
+        this.archiveAfterDays = archiveAfterDays;
+    }
+
+    /**
+     * Brings the ledger in line with the store and archives what has been completed
+     * long enough. Meant to run once when the store is opened; returns how many tasks
+     * were archived.
+     */
+    public int run(LocalDate today) {
+        List<Task> completed = taskService.getAllTasks().stream()
+                .filter(Task::isCompleted)
+                .collect(Collectors.toList());
+        boolean seeding = ledger.isNew();
+        Set<String> ids = new HashSet<>();
+        for (Task task : completed) {
+            ids.add(task.getId());
+            LocalDate due = task.getDueDate();
+            ledger.completed(task.getId(), seeding && due != null && due.isBefore(today) ? due : today);
+        }
+        ledger.retainAll(ids);
+
+        int archived = 0;
+        if (archiveAfterDays >= 0) {
+            LocalDate cutoff = today.minusDays(archiveAfterDays);
+            List<Task> old = completed.stream()
+                    .filter(task -> ledger.completedOn(task.getId()).isBefore(cutoff))
+                    .collect(Collectors.toList());
+            taskService.archiveTasks(old); // The deletions take them off the ledger
+            archived = old.size();
+        }
+        ledger.save();
+        return archived;
+    }
+
+    @Override
+    public void tasksChanged(List<TaskChange> changes) {
+        LocalDate today = LocalDate.now();
+        for (TaskChange change : changes) {
+            if (change.type() != TaskChange.Type.DELETED && change.task().isCompleted()) {
+                ledger.completed(change.id(), today);
+            } else {
+                ledger.forget(change.id());
+            }
+        }
+    }
+
+    /** Writes the ledger's changes since the last save, e.g. when the store is closed. */
+    public void save() {
+        ledger.save();
+    }
+}
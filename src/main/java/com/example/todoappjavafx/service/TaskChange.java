@@ -0,0 +1,24 @@
+package com.example.todoappjavafx.service;
+
+import com.example.todoappjavafx.model.Task;
+
+/**
+ * One task added, updated or deleted through {@link TaskService}.
+ * {@code task} is null for deletions.
+ */
+public record TaskChange(Type type, String id, Task task) {
+
+    public enum Type { ADDED, UPDATED, DELETED }
+
+    static TaskChange added(Task task) {
+        return new TaskChange(Type.ADDED, task.getId(), task);
+    }
+
+    static TaskChange updated(Task task) {
+        return new TaskChange(Type.UPDATED, task.getId(), task);
+    }
+
+    static TaskChange deleted(String id) {
+        return new TaskChange(Type.DELETED, id, null);
+    }
+}
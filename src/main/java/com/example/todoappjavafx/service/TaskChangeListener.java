@@ -0,0 +1,13 @@
+package com.example.todoappjavafx.service;
+
+import java.util.List;
+
+/**
+ * Told about the tasks changed by each {@link TaskService} call, once the change is stored.
+ * A bulk call arrives as one list, one entry per task.
+ */
+@FunctionalInterface
+public interface TaskChangeListener {
+
+    void tasksChanged(List<TaskChange> changes);
+}
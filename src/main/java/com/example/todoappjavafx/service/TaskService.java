@@ -2,25 +2,62 @@ package com.example.todoappjavafx.service;
 
 import com.example.todoappjavafx.model.Priority;
 import com.example.todoappjavafx.model.Task;
+import com.example.todoappjavafx.model.TaskPage;
 import com.example.todoappjavafx.repository.Repository;
+import com.example.todoappjavafx.repository.TaskArchive;
+import com.example.todoappjavafx.repository.TaskQueries;
+import com.example.todoappjavafx.repository.TaskSearchIndex;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 /**
  * Service layer for managing task business logic.
+ * Queries are answered from the repository's indexes when it offers {@link TaskQueries}.
  */
 public class TaskService {
     private final Repository<Task> repository;
+    private final TaskQueries queries; // null when the repository can only be scanned
+    private TaskArchive archive; // null when completed tasks are never archived
+    private final List<TaskChangeListener> listeners = new CopyOnWriteArrayList<>();
 
     public TaskService(Repository<Task> repository) {
         this.repository = repository;
+        this.queries = repository instanceof TaskQueries taskQueries ? taskQueries : null;
+    }
+
+    /** Where {@link #archiveTasks} moves tasks; its count is part of the completion progress. */
+    public void setArchive(TaskArchive archive) {
+        this.archive = archive;
+    }
+
+    // Change notification: listeners run on the thread that made the change
+    public void addChangeListener(TaskChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeChangeListener(TaskChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void publish(List<TaskChange> changes) {
+        if (changes.isEmpty()) return;
+        for (TaskChangeListener listener : listeners) {
+            listener.tasksChanged(changes);
+        }
     }
 
     // Create
     public void addTask(Task task) {
         repository.save(task);
+        publish(List.of(TaskChange.added(task)));
     }
 
     // Read
@@ -28,6 +65,26 @@ public class TaskService {
         return repository.findAll();
     }
 
+    public long countTasks() {
+        return repository.count();
+    }
+
+    // One page of the tasks matching the query and priority (blank query / null priority = all):
+    // in stored order, or best match first while searching
+    public TaskPage findPage(String query, Priority priority, int offset, int limit) {
+        boolean searching = query != null && !query.isBlank();
+        if (!searching && priority == null) {
+            int total = (int) repository.count();
+            return new TaskPage(repository.findPage(offset, limit), offset, total);
+        }
+        if (queries != null) return queries.findMatchingPage(query, priority, offset, limit);
+        List<Task> matches = searching ? searchTasks(query) : filterByPriority(priority);
+        if (searching && priority != null) {
+            matches = matches.stream().filter(task -> task.getPriority() == priority).collect(Collectors.toList());
+        }
+        return TaskPage.slice(matches, offset, limit);
+    }
+
     public Optional<Task> getTaskById(String id) {
         return repository.findById(id);
     }
@@ -35,35 +92,124 @@ public class TaskService {
     // Update
     public void updateTask(Task updatedTask) {
         repository.update(updatedTask);
+        publish(List.of(TaskChange.updated(updatedTask)));
     }
 
     // Delete
     public void deleteTask(String id) {
         repository.delete(id);
+        publish(List.of(TaskChange.deleted(id)));
     }
 
-    // Toggle completion status
-    public void toggleTaskCompletion(String id) {
-        repository.findById(id).ifPresent(task -> {
-            task.setCompleted(!task.isCompleted());
-            repository.update(task);
-        });
+    // Bulk operations: one repository round trip per call
+    public void addTasks(Collection<Task> tasks) {
+        repository.saveAll(tasks);
+        publish(tasks.stream().map(TaskChange::added).collect(Collectors.toList()));
+    }
+
+    public void updateTasks(Collection<Task> tasks) {
+        repository.updateAll(tasks);
+        publish(tasks.stream().map(TaskChange::updated).collect(Collectors.toList()));
+    }
+
+    public void deleteTasks(Collection<String> ids) {
+        repository.deleteAll(ids);
+        publish(ids.stream().map(TaskChange::deleted).collect(Collectors.toList()));
+    }
+
+    // Remove all completed tasks, returns how many were deleted
+    public int deleteCompletedTasks() {
+        List<String> ids = repository.findAll()
+                .stream()
+                .filter(Task::isCompleted)
+                .map(Task::getId)
+                .collect(Collectors.toList());
+        deleteTasks(ids);
+        return ids.size();
     }
 
     // Filter by priority
     public List<Task> filterByPriority(Priority priority) {
+        if (queries != null) return queries.findByPriority(priority);
         return repository.findAll()
                 .stream()
                 .filter(task -> task.getPriority() == priority)
                 .collect(Collectors.toList());
     }
 
+    // Search titles and descriptions; every word of the query must match the start of a word.
+    // Without indexes the words are matched the same way, only unranked
+    public List<Task> searchTasks(String query) {
+        if (queries != null) return queries.search(query);
+        return repository.findAll()
+                .stream()
+                .filter(task -> TaskSearchIndex.matches(query, task))
+                .collect(Collectors.toList());
+    }
+
+    // Tasks due between two dates (inclusive), soonest first
+    public List<Task> getTasksDueBetween(LocalDate from, LocalDate to) {
+        if (queries != null) return queries.findDueBetween(from, to);
+        return repository.findAll()
+                .stream()
+                .filter(task -> task.getDueDate() != null)
+                .filter(task -> !task.getDueDate().isBefore(from) && !task.getDueDate().isAfter(to))
+                .sorted(Comparator.comparing(Task::getDueDate))
+                .collect(Collectors.toList());
+    }
+
+    // Pending tasks whose due date has passed, oldest first
+    public List<Task> getOverdueTasks() {
+        LocalDate today = LocalDate.now();
+        if (queries != null) return queries.findOverdue(today);
+        return repository.findAll()
+                .stream()
+                .filter(task -> !task.isCompleted())
+                .filter(task -> task.getDueDate() != null && task.getDueDate().isBefore(today))
+                .sorted(Comparator.comparing(Task::getDueDate))
+                .collect(Collectors.toList());
+    }
+
+    // Tasks due from today until the end of the week (Sunday)
+    public List<Task> getTasksDueThisWeek() {
+        LocalDate today = LocalDate.now();
+        return getTasksDueBetween(today, today.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY)));
+    }
+
+    public long countCompleted() {
+        if (queries != null) return queries.countCompleted();
+        return repository.findAll().stream().filter(Task::isCompleted).count();
+    }
+
+    // --- Archive ---
+
+    // Archived tasks are all completed; only the archive's header is read to count them
+    public long countArchived() {
+        return archive == null ? 0 : archive.count();
+    }
+
+    public List<Task> getArchivedTasks() {
+        return archive == null ? List.of() : archive.loadAll();
+    }
+
+    /** Moves completed tasks into the archive; they leave the store as deletions. */
+    public void archiveTasks(Collection<Task> tasks) {
+        if (archive == null || tasks.isEmpty()) return;
+        archive.append(tasks); // First, so a failure here leaves them in the store
+        deleteTasks(tasks.stream().map(Task::getId).collect(Collectors.toList()));
+    }
 
-    // Calculate completion progress
+    // Calculate completion progress, archived tasks included
     public double getCompletionProgress() {
+        long archived = countArchived();
+        if (queries != null) {
+            long total = queries.countAll() + archived;
+            return total == 0 ? 0 : ((queries.countCompleted() + archived) * 100.0) / total;
+        }
         List<Task> allTasks = repository.findAll();
-        if (allTasks.isEmpty()) return 0;
-        long completed = allTasks.stream().filter(Task::isCompleted).count();
-        return (completed * 100.0) / allTasks.size();
+        long total = allTasks.size() + archived;
+        if (total == 0) return 0;
+        long completed = allTasks.stream().filter(Task::isCompleted).count() + archived;
+        return (completed * 100.0) / total;
     }
 }
@@ -1,5 +1,7 @@
 package com.example.todoappjavafx.util;
 
+import com.example.todoappjavafx.model.Priority;
+import com.example.todoappjavafx.model.Task;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
@@ -7,16 +9,28 @@ import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.lang.reflect.Type;
+import java.time.LocalDate;
 
 /**
  * Simple utility class for JSON read/write using Gson.
  */
 public class JsonUtil {
 
-    private static final Gson gson = new GsonBuilder()
+    private static final Gson gson = gsonBuilder()
             .setPrettyPrinting()
             .create();
 
+    /**
+     * Gson configured with the streaming adapters for the task model.
+     * Every Gson instance in the app should start from here so they all share one JSON layout.
+     */
+    public static GsonBuilder gsonBuilder() {
+        return new GsonBuilder()
+                .registerTypeAdapter(Task.class, new TaskTypeAdapter())
+                .registerTypeAdapter(Priority.class, new PriorityTypeAdapter())
+                .registerTypeAdapter(LocalDate.class, new LocalDateTypeAdapter());
+    }
+
     public static <T> void writeJson(String filePath, T data) {
         try (FileWriter writer = new FileWriter(filePath)) {
             gson.toJson(data, writer);
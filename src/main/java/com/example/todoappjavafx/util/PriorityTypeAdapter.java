@@ -0,0 +1,44 @@
+package com.example.todoappjavafx.util;
+
+import com.example.todoappjavafx.model.Priority;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Streams {@link Priority} by constant name ("HIGH"), like Gson's reflective enum binding did.
+ * Unknown names read as null, also as before.
+ */
+public class PriorityTypeAdapter extends TypeAdapter<Priority> {
+
+    private static final Priority[] VALUES = Priority.values();
+
+    @Override
+    public void write(JsonWriter out, Priority priority) throws IOException {
+        if (priority == null) {
+            out.nullValue();
+        } else {
+            out.value(priority.name());
+        }
+    }
+
+    @Override
+    public Priority read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return fromName(in.nextString());
+    }
+
+    static Priority fromName(String name) {
+        // A linear scan over three constants beats valueOf()'s map lookup and exception on a miss
+        for (Priority priority : VALUES) {
+            if (priority.name().equals(name)) return priority;
+        }
+        return null;
+    }
+}
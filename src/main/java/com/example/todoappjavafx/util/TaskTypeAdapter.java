@@ -0,0 +1,83 @@
+package com.example.todoappjavafx.util;
+
+import com.example.todoappjavafx.model.Priority;
+import com.example.todoappjavafx.model.Task;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Streams {@link Task} field by field, replacing Gson's reflective binding.
+ * The JSON layout is the one reflection produced: null fields are omitted and unknown fields are skipped.
+ */
+public class TaskTypeAdapter extends TypeAdapter<Task> {
+
+    private final LocalDateTypeAdapter dateAdapter = new LocalDateTypeAdapter();
+    private final PriorityTypeAdapter priorityAdapter = new PriorityTypeAdapter();
+
+    @Override
+    public void write(JsonWriter out, Task task) throws IOException {
+        if (task == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        writeString(out, "id", task.getId());
+        writeString(out, "title", task.getTitle());
+        writeString(out, "description", task.getDescription());
+        if (task.getPriority() != null) {
+            out.name("priority");
+            priorityAdapter.write(out, task.getPriority());
+        }
+        if (task.getDueDate() != null) {
+            out.name("dueDate");
+            dateAdapter.write(out, task.getDueDate());
+        }
+        out.name("completed").value(task.isCompleted());
+        out.endObject();
+    }
+
+    private static void writeString(JsonWriter out, String name, String value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
+
+    @Override
+    public Task read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        String id = null;
+        String title = null;
+        String description = null;
+        Priority priority = null;
+        LocalDate dueDate = null;
+        boolean completed = false;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "id" -> id = in.nextString();
+                case "title" -> title = in.nextString();
+                case "description" -> description = in.nextString();
+                case "priority" -> priority = priorityAdapter.read(in);
+                case "dueDate" -> dueDate = dateAdapter.read(in);
+                case "completed" -> completed = in.nextBoolean();
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        return new Task(id, title, description, priority, dueDate, completed);
+    }
+}
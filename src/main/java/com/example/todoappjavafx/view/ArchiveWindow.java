@@ -0,0 +1,116 @@
+package com.example.todoappjavafx.view;
+
+import com.example.todoappjavafx.model.Task;
+import com.example.todoappjavafx.repository.TaskSearchIndex;
+import com.example.todoappjavafx.service.AsyncTaskService;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+/**
+ * Read-only window for browsing and searching the active list's archived tasks.
+ *
+ * The archive is only read (and decompressed) while this window is open; the
+ * tasks are dropped again when it is closed. Searching matches word starts like
+ * the main search box, over the loaded tasks.
+ */
+public final class ArchiveWindow {
+
+    private static Stage stage; // Built on first use, then reused
+    private static AsyncTaskService taskService;
+    private static final ObservableList<Task> archived = FXCollections.observableArrayList();
+    private static final FilteredList<Task> tasks = new FilteredList<>(archived);
+    private static Label status;
+    private static TextField searchField;
+
+    private ArchiveWindow() {
+    }
+
+    public static void show(Window owner, AsyncTaskService service) {
+        taskService = service;
+        if (stage == null) stage = build(owner);
+        stage.show();
+        stage.toFront();
+    }
+
+    /** Closes the window, e.g. when another list is opened. */
+    public static void close() {
+        if (stage != null) stage.hide();
+    }
+
+    private static Stage build(Window owner) {
+        status = new Label();
+        searchField = new TextField();
+        searchField.setPromptText("🔍 Search history...");
+        searchField.getStyleClass().add("search-field");
+        searchField.textProperty().addListener((obs, oldText, newText) -> applySearch(newText));
+
+        ListView<Task> list = new ListView<>(tasks);
+        list.getStyleClass().add("task-list");
+        list.setCellFactory(listView -> new ArchivedTaskCell());
+        list.setPlaceholder(new Label("No archived tasks"));
+        VBox.setVgrow(list, Priority.ALWAYS);
+
+        VBox root = new VBox(10, searchField, status, list);
+        root.setPadding(new Insets(12));
+        root.setPrefSize(560, 520);
+
+        Stage window = new Stage();
+        window.initOwner(owner);
+        window.setTitle("History");
+        Scene scene = new Scene(root);
+        scene.getStylesheets().setAll(owner.getScene().getStylesheets());
+        window.setScene(scene);
+        window.setOnShown(e -> load());
+        window.setOnHidden(e -> archived.clear());
+        return window;
+    }
+
+    private static void load() {
+        status.setText("Loading archive…");
+        AsyncTaskService.onFxThread(taskService.getArchivedTasks(), loaded -> {
+            if (!stage.isShowing()) return;
+            archived.setAll(loaded);
+            applySearch(searchField.getText());
+        });
+    }
+
+    private static void applySearch(String query) {
+        tasks.setPredicate(query == null || query.isBlank() ? null : task -> TaskSearchIndex.matches(query, task));
+        status.setText(tasks.size() + " of " + archived.size() + " archived tasks");
+    }
+
+    /** The task card without its edit, delete and completion controls. */
+    private static final class ArchivedTaskCell extends ListCell<Task> {
+
+        private final TaskCardView card = new TaskCardView();
+
+        ArchivedTaskCell() {
+            card.completedCheck.setDisable(true);
+            card.editBtn.setVisible(false);
+            card.deleteBtn.setVisible(false);
+            setText(null);
+        }
+
+        @Override
+        protected void updateItem(Task task, boolean empty) {
+            super.updateItem(task, empty);
+            if (empty || task == null) {
+                setGraphic(null);
+            } else {
+                card.show(task);
+                setGraphic(card);
+            }
+        }
+    }
+}
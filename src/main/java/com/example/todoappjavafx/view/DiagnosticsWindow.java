@@ -0,0 +1,77 @@
+package com.example.todoappjavafx.view;
+
+import com.example.todoappjavafx.metrics.Metrics;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.TextArea;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import javafx.util.Duration;
+
+import java.io.File;
+
+/**
+ * Hidden window (Ctrl/Cmd+Shift+D) showing {@link Metrics#report()}: p50/p90/p99/max of
+ * the repository, service and UI timers and the bytes read and written, refreshed every
+ * second while open. The report can be saved to a file to attach to a bug report.
+ */
+public final class DiagnosticsWindow {
+
+    private static Stage stage; // Built on first use, then reused
+
+    private DiagnosticsWindow() {
+    }
+
+    public static void show(Window owner) {
+        if (stage == null) stage = build(owner);
+        stage.show();
+        stage.toFront();
+    }
+
+    private static Stage build(Window owner) {
+        TextArea report = new TextArea();
+        report.setEditable(false);
+        report.setStyle("-fx-font-family: monospace;");
+        report.setPrefSize(760, 420);
+
+        Timeline refresh = new Timeline(new KeyFrame(Duration.seconds(1), e -> report.setText(Metrics.report())));
+        refresh.setCycleCount(Animation.INDEFINITE);
+
+        Button reset = new Button("Reset");
+        reset.setOnAction(e -> {
+            Metrics.reset();
+            report.setText(Metrics.report());
+        });
+        Button save = new Button("Save to file…");
+        save.setOnAction(e -> {
+            FileChooser chooser = new FileChooser();
+            chooser.setInitialFileName("todo-metrics.txt");
+            File file = chooser.showSaveDialog(stage);
+            if (file != null) Metrics.dump(file.toPath());
+        });
+        HBox buttons = new HBox(10, reset, save);
+        buttons.setAlignment(Pos.CENTER_RIGHT);
+
+        VBox root = new VBox(10, report, buttons);
+        root.setPadding(new Insets(12));
+
+        Stage window = new Stage();
+        window.initOwner(owner);
+        window.setTitle("Diagnostics");
+        window.setScene(new Scene(root));
+        window.setOnShown(e -> {
+            report.setText(Metrics.report());
+            refresh.play();
+        });
+        window.setOnHidden(e -> refresh.stop());
+        return window;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.todoappjavafx.view;
+
+import com.example.todoappjavafx.model.Priority;
+import com.example.todoappjavafx.model.Task;
+import javafx.css.PseudoClass;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The task card shown in each list row, built in code (same structure and style
+ * classes as the former task-card.fxml) so cells do not run an FXMLLoader.
+ *
+ * {@link #show(Task)} only sets texts and pseudo-class states: no style class
+ * list edits, and the due date labels come from a cache.
+ */
+public class TaskCardView extends AnchorPane {
+
+    private static final PseudoClass COMPLETED = PseudoClass.getPseudoClass("completed");
+    private static final PseudoClass HIGH = PseudoClass.getPseudoClass("high");
+    private static final PseudoClass MEDIUM = PseudoClass.getPseudoClass("medium");
+    private static final PseudoClass LOW = PseudoClass.getPseudoClass("low");
+
+    private static final String NO_DUE_DATE = "No due date";
+    private static final int MAX_CACHED_DATES = 4096;
+    // Only touched on the FX thread; tasks share a small set of due dates
+    private static final Map<LocalDate, String> DUE_DATE_TEXT = new HashMap<>();
+
+    final CheckBox completedCheck = new CheckBox();
+    final Label titleLabel = new Label();
+    final Label descLabel = new Label();
+    final Label priorityLabel = new Label();
+    final Label dueDateLabel = new Label();
+    final Button editBtn = new Button("✏️");
+    final Button deleteBtn = new Button("🗑️");
+
+    public TaskCardView() {
+        getStyleClass().add("task-card");
+        setPrefHeight(80);
+
+        completedCheck.getStyleClass().add("task-checkbox");
+        titleLabel.getStyleClass().add("task-title");
+        descLabel.getStyleClass().add("task-desc");
+        descLabel.setWrapText(true);
+        priorityLabel.getStyleClass().add("task-priority");
+        dueDateLabel.getStyleClass().add("task-date");
+        editBtn.getStyleClass().add("edit-btn");
+        deleteBtn.getStyleClass().add("delete-btn");
+        editBtn.setPrefSize(30, 30);
+        deleteBtn.setPrefSize(30, 30);
+
+        HBox meta = new HBox(10, priorityLabel, dueDateLabel);
+        VBox text = new VBox(4, titleLabel, descLabel, meta);
+        HBox.setHgrow(text, javafx.scene.layout.Priority.ALWAYS);
+        HBox actions = new HBox(8, editBtn, deleteBtn);
+        actions.setAlignment(Pos.CENTER_RIGHT);
+
+        HBox row = new HBox(12, completedCheck, text, actions);
+        row.setAlignment(Pos.CENTER_LEFT);
+        AnchorPane.setTopAnchor(row, 0.0);
+        AnchorPane.setRightAnchor(row, 0.0);
+        AnchorPane.setBottomAnchor(row, 0.0);
+        AnchorPane.setLeftAnchor(row, 0.0);
+        getChildren().add(row);
+    }
+
+    /** Shows the task's current values. */
+    public void show(Task task) {
+        titleLabel.setText(task.getTitle());
+        descLabel.setText(task.getDescription());
+        dueDateLabel.setText(dueDateText(task.getDueDate()));
+        completedCheck.setSelected(task.isCompleted());
+
+        Priority priority = task.getPriority();
+        priorityLabel.setText(priority != null ? priority.name() : "");
+        priorityLabel.pseudoClassStateChanged(HIGH, priority == Priority.HIGH);
+        priorityLabel.pseudoClassStateChanged(MEDIUM, priority == Priority.MEDIUM);
+        priorityLabel.pseudoClassStateChanged(LOW, priority == Priority.LOW);
+        pseudoClassStateChanged(COMPLETED, task.isCompleted());
+    }
+
+    private static String dueDateText(LocalDate dueDate) {
+        if (dueDate == null) return NO_DUE_DATE;
+        String text = DUE_DATE_TEXT.get(dueDate);
+        if (text == null) {
+            if (DUE_DATE_TEXT.size() >= MAX_CACHED_DATES) DUE_DATE_TEXT.clear();
+            text = "Due: " + dueDate;
+            DUE_DATE_TEXT.put(dueDate, text);
+        }
+        return text;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.todoappjavafx.view;
+
+import com.example.todoappjavafx.model.Priority;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextArea;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+
+/**
+ * The add/edit task form, built in code (same structure and style classes as the
+ * former task-form-view.fxml) so opening the dialog runs no FXMLLoader or reflection.
+ *
+ * The fields are the nodes the FXML used to inject into the controller.
+ */
+public class TaskFormView extends VBox {
+
+    public final Label formTitle = new Label("Add New Task");
+    public final TextField titleField = new TextField();
+    public final TextArea descriptionField = new TextArea();
+    public final ComboBox<Priority> priorityBox = new ComboBox<>();
+    public final DatePicker dueDatePicker = new DatePicker();
+    public final CheckBox completedCheck = new CheckBox("Mark as Completed");
+    public final Button saveBtn = new Button("Save");
+    public final Button cancelBtn = new Button("Cancel");
+
+    public TaskFormView() {
+        super(15);
+        getStyleClass().add("dialog-pane");
+        setPadding(new Insets(20, 25, 20, 25));
+
+        formTitle.getStyleClass().add("dialog-header");
+        titleField.setPromptText("Enter task title");
+        descriptionField.setPromptText("Optional details...");
+        descriptionField.setPrefRowCount(3);
+        descriptionField.setWrapText(true);
+        priorityBox.setPromptText("Select Priority");
+        priorityBox.setMaxWidth(Double.MAX_VALUE);
+        saveBtn.getStyleClass().add("button-save");
+        cancelBtn.getStyleClass().add("button-cancel");
+
+        VBox priorityColumn = new VBox(5, new Label("Priority:"), priorityBox);
+        HBox.setHgrow(priorityColumn, javafx.scene.layout.Priority.ALWAYS);
+        VBox dueDateColumn = new VBox(5, new Label("Due Date:"), dueDatePicker);
+        HBox details = new HBox(20, priorityColumn, dueDateColumn);
+        details.setAlignment(Pos.CENTER_LEFT);
+
+        HBox buttons = new HBox(10, saveBtn, cancelBtn);
+        buttons.setAlignment(Pos.CENTER_RIGHT);
+
+        getChildren().addAll(
+                formTitle,
+                new Label("Title:"), titleField,
+                new Label("Description:"), descriptionField,
+                details,
+                completedCheck,
+                buttons);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.todoappjavafx.view;
+
+import com.example.todoappjavafx.model.WorkspaceSummary;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
+
+/**
+ * Sidebar row for one task list: its name, "done / total" and a progress bar,
+ * all from the manifest's counts, so the list's store stays closed.
+ */
+public class WorkspaceListCell extends ListCell<WorkspaceSummary> {
+
+    private final Label name = new Label();
+    private final Label counts = new Label();
+    private final ProgressBar progress = new ProgressBar();
+    private final VBox box = new VBox(4, name, counts, progress);
+
+    public WorkspaceListCell() {
+        name.getStyleClass().add("workspace-name");
+        counts.getStyleClass().add("workspace-counts");
+        progress.getStyleClass().add("workspace-progress");
+        progress.setMaxWidth(Double.MAX_VALUE);
+        setText(null);
+    }
+
+    @Override
+    protected void updateItem(WorkspaceSummary workspace, boolean empty) {
+        super.updateItem(workspace, empty);
+        if (empty || workspace == null) {
+            setGraphic(null);
+            return;
+        }
+        name.setText(workspace.name());
+        long archived = workspace.archivedCount();
+        counts.setText((workspace.completedCount() + archived) + " / " + (workspace.taskCount() + archived) + " done");
+        progress.setProgress(workspace.progress());
+        setGraphic(box);
+    }
+}
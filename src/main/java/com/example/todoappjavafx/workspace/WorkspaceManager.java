@@ -0,0 +1,320 @@
+package com.example.todoappjavafx.workspace;
+
+import com.example.todoappjavafx.metrics.InstrumentedRepository;
+import com.example.todoappjavafx.metrics.InstrumentedTaskService;
+import com.example.todoappjavafx.metrics.Metrics;
+import com.example.todoappjavafx.metrics.OperationTimer;
+import com.example.todoappjavafx.model.Task;
+import com.example.todoappjavafx.model.WorkspaceSummary;
+import com.example.todoappjavafx.repository.CompletionLedger;
+import com.example.todoappjavafx.repository.Durability;
+import com.example.todoappjavafx.repository.IndexedTaskRepository;
+import com.example.todoappjavafx.repository.Repository;
+import com.example.todoappjavafx.repository.StoreType;
+import com.example.todoappjavafx.repository.TaskArchive;
+import com.example.todoappjavafx.repository.TaskQueries;
+import com.example.todoappjavafx.repository.TaskSearchIndex;
+import com.example.todoappjavafx.repository.WorkspaceManifest;
+import com.example.todoappjavafx.repository.WriteBehindTaskRepository;
+import com.example.todoappjavafx.service.AsyncTaskService;
+import com.example.todoappjavafx.service.TaskArchiver;
+import com.example.todoappjavafx.service.TaskService;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Named task lists ("workspaces"), each with its own store in the data directory.
+ *
+ * A list's store is opened the first time it is switched to. Lists stay open after
+ * switching away, for quick switching back, until the open lists together hold more
+ * than {@code todo.workspaces.cacheTasks} tasks; the least recently used ones are
+ * closed then. The active list is never closed.
+ *
+ * The manifest ({@code workspaces.json}) holds every list's task, completed and archived counts,
+ * kept current while the list is open, so the sidebar can summarize lists that are not
+ * loaded. It is written on every switch and on {@link #close()}.
+ *
+ * Stores are opened and closed on the task I/O thread; summaries may be read from any thread.
+ * The monitor only guards the summaries and the active name, and is never held while a
+ * store is opened, archived or closed, so reading them never waits for disk.
+ */
+public class WorkspaceManager implements AutoCloseable {
+
+    public static final String CACHE_BUDGET_PROPERTY = "todo.workspaces.cacheTasks";
+    private static final long DEFAULT_CACHE_BUDGET = 200_000;
+
+    private static final String MANIFEST_FILE = "workspaces.json";
+    // Without a manifest, the single task file from before workspaces becomes the first list
+    private static final String DEFAULT_NAME = "Tasks";
+    private static final String DEFAULT_FILE = "tasks.json";
+
+    private static final OperationTimer STORE_OPEN = Metrics.timer("repository.open");
+
+    /** An open list: its service and the store stack below it. */
+    private static final class OpenWorkspace {
+        final TaskService service;
+        final Repository<Task> repository;
+        final TaskSearchIndex searchIndex; // null when the store answers queries itself
+        final TaskArchiver archiver;
+
+        OpenWorkspace(TaskService service, Repository<Task> repository, TaskSearchIndex searchIndex, TaskArchiver archiver) {
+            this.service = service;
+            this.repository = repository;
+            this.searchIndex = searchIndex;
+            this.archiver = archiver;
+        }
+
+        void close() throws Exception {
+            archiver.save();
+            if (repository instanceof AutoCloseable closeable) {
+                closeable.close(); // The write-behind queue flushes what is still pending first
+            }
+            if (searchIndex != null) {
+                searchIndex.save(); // Saves re-tokenizing every task at the next open
+            }
+        }
+    }
+
+    private final Path directory;
+    private final long cacheBudget;
+    private final Map<String, WorkspaceSummary> summaries = new LinkedHashMap<>(); // In sidebar order
+    private String active;
+
+    // Held while stores are opened or closed and the manifest is written; the monitor may be
+    // taken inside it, never the other way round
+    private final Object storeLock = new Object();
+    // Access order, so the first entry is the least recently used list
+    private final LinkedHashMap<String, OpenWorkspace> open = new LinkedHashMap<>(16, 0.75f, true);
+    private boolean loaded;
+
+    public WorkspaceManager(Path directory) {
+        this(directory, Long.getLong(CACHE_BUDGET_PROPERTY, DEFAULT_CACHE_BUDGET));
+    }
+
+    /** @param cacheBudget how many tasks the open lists may hold together, besides the active one */
+    public WorkspaceManager(Path directory, long cacheBudget) {
+        this.directory = directory;
+        this.cacheBudget = cacheBudget;
+    }
+
+    /** Reads the manifest once; called with the store lock held. */
+    private void load() {
+        if (loaded) return;
+        WorkspaceManifest manifest;
+        try {
+            manifest = WorkspaceManifest.read(directory.resolve(MANIFEST_FILE));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read " + directory.resolve(MANIFEST_FILE), e);
+        }
+        loaded = true;
+        synchronized (this) {
+            if (manifest != null) {
+                manifest.workspaces().forEach(workspace -> summaries.put(workspace.name(), workspace));
+                active = manifest.active();
+            }
+            if (summaries.isEmpty()) {
+                summaries.put(DEFAULT_NAME, new WorkspaceSummary(DEFAULT_NAME, DEFAULT_FILE, 0, 0, 0));
+            }
+            if (active == null || !summaries.containsKey(active)) {
+                active = summaries.keySet().iterator().next();
+            }
+        }
+    }
+
+    /** Reads the manifest and opens the list that was active last time. */
+    public TaskService openActive() {
+        synchronized (storeLock) {
+            load();
+            return open(activeName());
+        }
+    }
+
+    /** Every list with its last known counts, in sidebar order; empty until {@link #openActive()}. */
+    public synchronized List<WorkspaceSummary> summaries() {
+        return List.copyOf(summaries.values());
+    }
+
+    public synchronized String activeName() {
+        return active;
+    }
+
+    /**
+     * Adds an empty list. Its store is created when the list is first opened, and the
+     * manifest is written then too.
+     */
+    public synchronized WorkspaceSummary create(String name) {
+        String trimmed = name == null ? "" : name.trim();
+        if (trimmed.isEmpty()) {
+            throw new IllegalArgumentException("A task list needs a name.");
+        }
+        if (summaries.keySet().stream().anyMatch(existing -> existing.equalsIgnoreCase(trimmed))) {
+            throw new IllegalArgumentException("There is already a list named \"" + trimmed + "\".");
+        }
+        WorkspaceSummary summary = new WorkspaceSummary(trimmed, fileNameFor(trimmed), 0, 0, 0);
+        summaries.put(trimmed, summary);
+        return summary;
+    }
+
+    /** A file name from the list name ("Groceries & Co" -> groceries-co.json), unique among the lists. */
+    private String fileNameFor(String name) {
+        String slug = name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("^-|-$", "");
+        if (slug.isEmpty()) slug = "list";
+        String file = slug + ".json";
+        for (int i = 2; isTaken(file); i++) {
+            file = slug + "-" + i + ".json";
+        }
+        return file;
+    }
+
+    private boolean isTaken(String file) {
+        return file.equals(MANIFEST_FILE)
+                || summaries.values().stream().anyMatch(workspace -> workspace.file().equalsIgnoreCase(file));
+    }
+
+    /** Makes the named list the active one, opening its store unless it is still cached. */
+    public TaskService open(String name) {
+        synchronized (storeLock) {
+            load();
+            WorkspaceSummary summary;
+            synchronized (this) {
+                summary = summaries.get(name);
+            }
+            if (summary == null) {
+                throw new IllegalArgumentException("There is no task list named \"" + name + "\".");
+            }
+            OpenWorkspace workspace = open.get(name); // Also marks it most recently used
+            if (workspace == null) {
+                workspace = openStore(summary);
+                open.put(name, workspace);
+                updateCounts(name, workspace.service);
+            }
+            synchronized (this) {
+                active = name;
+            }
+            evictOverBudget();
+            saveManifest();
+            return workspace.service;
+        }
+    }
+
+    private OpenWorkspace openStore(WorkspaceSummary summary) {
+        Path file = directory.resolve(summary.file());
+        long openStart = STORE_OPEN.start();
+        Repository<Task> opened = StoreType.fromSystemProperty().open(file.toString());
+        STORE_OPEN.stop(openStart);
+
+        String name = file.getFileName().toString();
+        Path base = file.resolveSibling(name.substring(0, name.length() - ".json".length()));
+        Durability durability = Durability.fromSystemProperty();
+
+        TaskService service;
+        Repository<Task> repository;
+        TaskSearchIndex searchIndex = null;
+        if (opened instanceof TaskQueries) {
+            // A database runs filters, search and counts itself; the write-behind queue and
+            // in-memory indexes would only keep a second copy of every row
+            repository = opened;
+            service = new InstrumentedTaskService(opened);
+        } else {
+            // Timed right on the store, so the metrics show real file reads and writes
+            InstrumentedRepository store = new InstrumentedRepository(opened);
+            // Bursts of edits (e.g. ticking many checkboxes) are coalesced into one write per window
+            WriteBehindTaskRepository writeBehind = new WriteBehindTaskRepository(store);
+            // Edits are confirmed before they reach the disk, so a failed write has no caller to tell
+            writeBehind.setFailureHandler(error -> AsyncTaskService.reportError(
+                    "Changes to \"" + summary.name() + "\" could not be saved yet and will be retried: ", error));
+            repository = writeBehind;
+            // Priority / due date / completion queries and text search are answered from in-memory indexes
+            searchIndex = TaskSearchIndex.open(Path.of(base + ".search"));
+            service = new InstrumentedTaskService(new IndexedTaskRepository(writeBehind, searchIndex));
+        }
+
+        // Long completed tasks move to a compressed archive, read only to browse history
+        service.setArchive(new TaskArchive(Path.of(base + ".archive"), durability));
+        TaskArchiver archiver = new TaskArchiver(service, new CompletionLedger(Path.of(base + ".completed"), durability));
+        service.addChangeListener(archiver);
+        archiver.run(LocalDate.now());
+
+        // Counts come from the indexes (or SQL) and the archive header, so keeping the summary current is cheap
+        String listName = summary.name();
+        service.addChangeListener(changes -> updateCounts(listName, service));
+        return new OpenWorkspace(service, repository, searchIndex, archiver);
+    }
+
+    /** Counts are read from the service first, so the monitor is only held to store them. */
+    private void updateCounts(String name, TaskService service) {
+        long tasks = service.countTasks();
+        long completed = service.countCompleted();
+        long archived = service.countArchived();
+        synchronized (this) {
+            WorkspaceSummary summary = summaries.get(name);
+            if (summary != null) {
+                summaries.put(name, summary.withCounts(tasks, completed, archived));
+            }
+        }
+    }
+
+    /** Closes least recently used lists until the others than the active one fit the budget. */
+    private void evictOverBudget() {
+        String current;
+        Map<String, Long> taskCounts = new LinkedHashMap<>();
+        synchronized (this) {
+            current = active;
+            open.keySet().forEach(name -> taskCounts.put(name, summaries.get(name).taskCount()));
+        }
+        long held = taskCounts.entrySet().stream()
+                .filter(entry -> !entry.getKey().equals(current))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+        Iterator<Map.Entry<String, OpenWorkspace>> leastRecentFirst = open.entrySet().iterator();
+        while (held > cacheBudget && leastRecentFirst.hasNext()) {
+            Map.Entry<String, OpenWorkspace> entry = leastRecentFirst.next();
+            if (entry.getKey().equals(current)) continue;
+            held -= taskCounts.get(entry.getKey());
+            leastRecentFirst.remove();
+            try {
+                entry.getValue().close();
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to close task list \"" + entry.getKey() + "\"", e);
+            }
+        }
+    }
+
+    /** Writes a snapshot of the summaries taken under the monitor; called with the store lock held. */
+    private void saveManifest() {
+        WorkspaceManifest manifest;
+        synchronized (this) {
+            manifest = new WorkspaceManifest(active, List.copyOf(summaries.values()));
+        }
+        try {
+            manifest.write(directory.resolve(MANIFEST_FILE), Durability.fromSystemProperty());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to save the workspace manifest.", e);
+        }
+    }
+
+    /** Closes every open list and saves the manifest with their final counts. */
+    @Override
+    public void close() throws Exception {
+        synchronized (storeLock) {
+            Exception failure = null;
+            for (OpenWorkspace workspace : open.values()) {
+                try {
+                    workspace.close();
+                } catch (Exception e) {
+                    if (failure == null) failure = e; else failure.addSuppressed(e);
+                }
+            }
+            open.clear();
+            if (loaded) saveManifest();
+            if (failure != null) throw failure;
+        }
+    }
+}
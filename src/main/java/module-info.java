@@ -2,11 +2,16 @@ module com.example.todoappjavafx {
     requires javafx.controls;
     requires javafx.fxml;
     requires com.google.gson;
+    requires jdk.jfr; // Custom events for the metrics package
+    // JdbcTaskRepository. H2 is an automatic module, which jlink cannot link and this module does not
+    // require: it is resolved only when its jar is on the module path, as a java.sql.Driver provider
+    requires java.sql;
 
     // These 'opens' directives allow FXML/Gson to use reflection
     opens com.example.todoappjavafx to javafx.fxml;
     opens com.example.todoappjavafx.controller to javafx.fxml;
     opens com.example.todoappjavafx.model to com.google.gson;
+    opens com.example.todoappjavafx.repository to com.google.gson;
 
     // 🛑 THIS IS THE FIX YOU WERE MISSING
     opens com.example.todoappjavafx.view to javafx.fxml;
@@ -14,4 +19,5 @@ module com.example.todoappjavafx {
 
     exports com.example.todoappjavafx;
     exports com.example.todoappjavafx.controller;
+    exports com.example.todoappjavafx.metrics; // JFR registers the event classes reflectively
 }
\ No newline at end of file
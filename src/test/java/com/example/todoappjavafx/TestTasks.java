@@ -0,0 +1,48 @@
+package com.example.todoappjavafx;
+
+import com.example.todoappjavafx.model.Priority;
+import com.example.todoappjavafx.model.Task;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/** Tasks and task-list views shared by the tests. */
+public final class TestTasks {
+
+    /** Due date of every task made here, so that dates are round-tripped too. */
+    public static final LocalDate DUE = LocalDate.of(2025, 1, 1);
+
+    private TestTasks() {
+    }
+
+    /** An open task titled {@code "task <id>"}. */
+    public static Task task(String id) {
+        return task(id, "task " + id);
+    }
+
+    public static Task task(String id, String title) {
+        return task(id, title, Priority.MEDIUM);
+    }
+
+    public static Task task(String id, String title, Priority priority) {
+        return new Task(id, title, "", priority, DUE, false);
+    }
+
+    /** A completed task titled {@code "task <id>"}. */
+    public static Task done(String id) {
+        return done(id, "task " + id);
+    }
+
+    public static Task done(String id, String title) {
+        return new Task(id, title, "", Priority.MEDIUM, DUE, true);
+    }
+
+    public static List<String> ids(Collection<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+
+    public static List<String> titles(Collection<Task> tasks) {
+        return tasks.stream().map(Task::getTitle).toList();
+    }
+}
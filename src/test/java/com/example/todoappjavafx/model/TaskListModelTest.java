@@ -0,0 +1,48 @@
+package com.example.todoappjavafx.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.todoappjavafx.TestTasks.done;
+import static com.example.todoappjavafx.TestTasks.ids;
+import static com.example.todoappjavafx.TestTasks.task;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TaskListModelTest {
+
+    @Test
+    void findsRowsByIdAfterRemovals() {
+        TaskListModel model = new TaskListModel();
+        model.setAll(List.of(task("a"), task("b"), task("c"), task("d")));
+        model.removeAll(List.of("b", "unknown"));
+
+        Task replacement = done("d");
+        model.upsert(replacement);
+        model.upsert(task("e"));
+
+        assertEquals(List.of("a", "c", "d", "e"), ids(model.getVisibleTasks()));
+        assertSame(replacement, model.get("d"));
+        assertNull(model.get("b"));
+        assertEquals(1, model.completedCountProperty().get());
+    }
+
+    @Test
+    void largeBatchesKeepTheIndexes() {
+        TaskListModel model = new TaskListModel();
+        List<Task> batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) batch.add(task("t" + i));
+        model.addAll(batch.subList(0, 50));
+        model.upsertAll(batch);
+        model.removeAll(List.of("t0", "t60"));
+        model.upsert(done("t99"));
+
+        assertEquals(98, model.visibleCountProperty().get());
+        assertEquals(1, model.completedCountProperty().get());
+        assertEquals("t99", model.getVisibleTasks().getLast().getId());
+        assertSame(model.getVisibleTasks().get(49), model.get("t50"));
+    }
+}
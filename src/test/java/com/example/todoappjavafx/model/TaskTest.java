@@ -0,0 +1,46 @@
+package com.example.todoappjavafx.model;
+
+import javafx.beans.InvalidationListener;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class TaskTest {
+
+    @Test
+    void listenersHearSetterAndPropertyChanges() {
+        Task task = new Task("id", "title", "", Priority.LOW, null, false);
+        AtomicInteger changes = new AtomicInteger();
+        InvalidationListener listener = obs -> changes.incrementAndGet();
+        task.addListener(listener);
+
+        task.setTitle("renamed");
+        task.setTitle("renamed"); // Unchanged
+        task.setDueDate(LocalDate.of(2025, 5, 1));
+        task.completedProperty().set(true);
+        task.setCompleted(true); // Unchanged
+        task.setCompleted(false);
+        assertEquals(4, changes.get());
+
+        task.removeListener(listener);
+        task.setPriority(Priority.HIGH);
+        assertEquals(4, changes.get());
+    }
+
+    @Test
+    void copiesAreIndependent() {
+        Task task = new Task("id", "title", "about", Priority.LOW, LocalDate.of(2025, 1, 1), false);
+        task.titleProperty().set("from the property");
+        Task copy = task.copy();
+        task.setCompleted(true);
+
+        assertEquals("id", copy.getId());
+        assertEquals("from the property", copy.getTitle());
+        assertEquals(LocalDate.of(2025, 1, 1), copy.getDueDate());
+        assertFalse(copy.isCompleted());
+    }
+}
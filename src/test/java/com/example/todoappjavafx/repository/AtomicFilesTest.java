@@ -0,0 +1,87 @@
+package com.example.todoappjavafx.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.example.todoappjavafx.TestTasks.task;
+import static com.example.todoappjavafx.TestTasks.titles;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AtomicFilesTest {
+
+    @TempDir
+    Path dir;
+
+    private Path file() {
+        return dir.resolve("tasks.json");
+    }
+
+    private static void write(Path target, boolean keepBackup, String text) throws IOException {
+        AtomicFiles.write(target, Durability.DATA, keepBackup, out -> out.write(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void replacesTheFileAndKeepsThePreviousAsBackup() throws IOException {
+        write(file(), true, "first");
+        write(file(), true, "second");
+
+        assertEquals("second", Files.readString(file()));
+        assertEquals("first", Files.readString(AtomicFiles.backupFor(file())));
+        assertFalse(Files.exists(AtomicFiles.tempFor(file())));
+    }
+
+    @Test
+    void failedWriteLeavesTheFileAlone() throws IOException {
+        write(file(), false, "kept");
+        assertThrows(IOException.class, () -> AtomicFiles.write(file(), Durability.DATA, true, out -> {
+            out.write("half".getBytes(StandardCharsets.UTF_8));
+            throw new IOException("Disk full");
+        }));
+
+        assertEquals("kept", Files.readString(file()));
+        assertFalse(Files.exists(AtomicFiles.tempFor(file())));
+        assertFalse(Files.exists(AtomicFiles.backupFor(file())));
+    }
+
+    @Test
+    void truncatedJsonFileFallsBackToBackup() throws IOException {
+        JsonTaskRepository repository = new JsonTaskRepository(file().toString(), Durability.NONE);
+        repository.save(task("1", "first"));
+        repository.save(task("2", "second")); // Keeps the first save as backup
+
+        byte[] bytes = Files.readAllBytes(file());
+        Files.write(file(), Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertEquals(List.of("first"), titles(new JsonTaskRepository(file().toString(), Durability.NONE).findAll()));
+    }
+
+    @Test
+    void emptyFileWithoutBackupRefusesToOpen() throws IOException {
+        Files.writeString(file(), "");
+        assertThrows(RuntimeException.class, () -> new JsonTaskRepository(file().toString(), Durability.NONE));
+        assertEquals(0, Files.size(file()), "the damaged file is left for the user to inspect");
+    }
+
+    @Test
+    void unknownDurabilityFallsBackToTheDefault() {
+        String previous = System.getProperty(Durability.PROPERTY);
+        try {
+            System.setProperty(Durability.PROPERTY, "data_and_dir");
+            assertEquals(Durability.DATA, Durability.fromSystemProperty());
+            System.setProperty(Durability.PROPERTY, " none ");
+            assertEquals(Durability.NONE, Durability.fromSystemProperty());
+        } finally {
+            if (previous == null) System.clearProperty(Durability.PROPERTY);
+            else System.setProperty(Durability.PROPERTY, previous);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.todoappjavafx.repository;
+
+import com.example.todoappjavafx.TestTasks;
+import com.example.todoappjavafx.model.Priority;
+import com.example.todoappjavafx.model.Task;
+import com.example.todoappjavafx.model.TaskPage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.todoappjavafx.TestTasks.ids;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IndexedTaskRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private JsonTaskRepository store() {
+        return new JsonTaskRepository(dir.resolve("tasks.json").toString(), Durability.NONE);
+    }
+
+    private static Task task(String id, Priority priority) {
+        return TestTasks.task(id, "task " + id, priority);
+    }
+
+    @Test
+    void pagesSkipDeletedTasks() {
+        IndexedTaskRepository repository = new IndexedTaskRepository(store());
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) tasks.add(task("t" + i, Priority.MEDIUM));
+        repository.saveAll(tasks);
+        repository.delete("t1");
+        repository.delete("t4");
+
+        assertEquals(List.of("t0", "t2", "t3"), ids(repository.findPage(0, 3)));
+        assertEquals(List.of("t5", "t6", "t7"), ids(repository.findPage(3, 3)));
+        assertEquals(List.of("t9"), ids(repository.findPage(7, 3)));
+        assertEquals(List.of(), ids(repository.findPage(20, 3)));
+        assertEquals(ids(repository.findAll()), ids(repository.findPage(0, Integer.MAX_VALUE)));
+
+        repository.save(task("t10", Priority.MEDIUM));
+        assertEquals(List.of("t9", "t10"), ids(repository.findPage(7, 3)));
+    }
+
+    @Test
+    void rebuildsAfterTheStoreReloadsOutsideChanges() {
+        IndexedTaskRepository repository = new IndexedTaskRepository(store());
+        repository.save(task("mine", Priority.LOW));
+
+        // Another process edits the same file
+        JsonTaskRepository other = store();
+        other.save(task("theirs", Priority.HIGH));
+        other.delete("mine");
+
+        // The store notices on its next access, here a write
+        repository.save(task("later", Priority.LOW));
+
+        assertEquals(List.of("theirs", "later"), ids(repository.findAll()));
+        assertEquals(List.of("theirs"), ids(repository.findByPriority(Priority.HIGH)));
+        assertEquals(List.of("later"), ids(repository.findByPriority(Priority.LOW)));
+        assertEquals(List.of("theirs"), ids(repository.search("theirs")));
+        assertEquals(2, repository.countAll());
+    }
+
+    @Test
+    void readsAboveAWriteBehindLayerSeeOutsideChanges() throws Exception {
+        // As the app stacks it: reads are answered here and never reach the file store
+        try (WriteBehindTaskRepository writeBehind = new WriteBehindTaskRepository(store(), Duration.ofHours(1), 1_000)) {
+            IndexedTaskRepository repository = new IndexedTaskRepository(writeBehind);
+            repository.save(task("mine", Priority.LOW));
+            writeBehind.flush();
+
+            JsonTaskRepository other = store();
+            other.save(task("theirs", Priority.HIGH));
+
+            assertEquals(List.of("mine", "theirs"), ids(repository.findAll()));
+            assertEquals(List.of("theirs"), ids(repository.findByPriority(Priority.HIGH)));
+        }
+    }
+
+    @Test
+    void pagesFilteredMatchesAndSeesLaterEdits() {
+        IndexedTaskRepository repository = new IndexedTaskRepository(store());
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 6; i++) tasks.add(task("t" + i, i % 2 == 0 ? Priority.HIGH : Priority.LOW));
+        repository.saveAll(tasks);
+
+        TaskPage first = repository.findMatchingPage("", Priority.HIGH, 0, 2);
+        assertEquals(List.of("t0", "t2"), ids(first.tasks()));
+        assertEquals(3, first.total());
+        assertEquals(List.of("t4"), ids(repository.findMatchingPage("", Priority.HIGH, 2, 2).tasks()));
+
+        Task changed = tasks.get(1);
+        changed.setPriority(Priority.HIGH);
+        repository.update(changed);
+        assertEquals(4, repository.findMatchingPage("", Priority.HIGH, 0, 2).total());
+
+        TaskPage found = repository.findMatchingPage("task", Priority.LOW, 0, 10);
+        assertEquals(List.of("t3", "t5"), ids(found.tasks()));
+        assertEquals(0, repository.findMatchingPage("nothing", null, 0, 10).total());
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.todoappjavafx.repository;
+
+import com.example.todoappjavafx.model.Priority;
+import com.example.todoappjavafx.model.Task;
+import com.example.todoappjavafx.model.TaskPage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.example.todoappjavafx.TestTasks.ids;
+import static com.example.todoappjavafx.TestTasks.task;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JdbcTaskRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private JdbcTaskRepository open() {
+        return new JdbcTaskRepository(JdbcTaskRepository.h2Url(dir.resolve("tasks").toString()), Durability.NONE);
+    }
+
+    @Test
+    void uncheckedFailureRollsBackTheTransaction() throws Exception {
+        try (JdbcTaskRepository repository = open()) {
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < 1_500; i++) tasks.add(task("t" + i));
+            tasks.set(1_200, null); // The first batch of 1000 has been sent by then
+            assertThrows(RuntimeException.class, () -> repository.saveAll(tasks));
+
+            repository.save(task("kept"));
+            assertEquals(1, repository.count());
+        }
+    }
+
+    @Test
+    void pagesMatchesInTheDatabase() throws Exception {
+        try (JdbcTaskRepository repository = open()) {
+            repository.saveAll(List.of(
+                    task("1", "buy milk", Priority.HIGH),
+                    task("2", "milk the cow", Priority.LOW),
+                    task("3", "call mum", Priority.HIGH),
+                    task("4", "skimmed milk", Priority.HIGH)));
+
+            TaskPage page = repository.findMatchingPage("milk", Priority.HIGH, 0, 1);
+            assertEquals(2, page.total());
+            assertEquals(List.of("1"), ids(page.tasks()));
+            assertEquals(List.of("4"), ids(repository.findMatchingPage("milk", Priority.HIGH, 1, 1).tasks()));
+            assertEquals(3, repository.findMatchingPage("", Priority.HIGH, 0, 10).total());
+            assertEquals(0, repository.findMatchingPage("!!", null, 0, 10).total());
+        }
+    }
+
+    @Test
+    void opensTheStoreWithH2OnTheModulePath() throws Exception {
+        Run converter = convertOnModulePath(true);
+
+        assertEquals(0, converter.exitCode(), converter.output());
+        assertTrue(converter.output().contains("Imported 2 tasks."), converter.output());
+        assertTrue(Files.exists(dir.resolve("tasks.mv.db")));
+    }
+
+    @Test
+    void missingDriverOnTheModulePathSaysWhatToAdd() throws Exception {
+        Run converter = convertOnModulePath(false);
+
+        assertEquals(1, converter.exitCode(), converter.output());
+        assertTrue(converter.output().contains("put the H2 jar on the module path"), converter.output());
+    }
+
+    private record Run(int exitCode, String output) {
+    }
+
+    /**
+     * Imports two tasks into an H2 store with {@link TaskFileConverter}, run as the app module in a
+     * JVM of its own with nothing on the class path, the way scripts/todo-app runs the jlink image.
+     */
+    private Run convertOnModulePath(boolean withH2) throws IOException, InterruptedException {
+        Path json = dir.resolve("tasks.json");
+        new JsonTaskRepository(json.toString(), Durability.NONE).saveAll(List.of(task("1"), task("2")));
+
+        Stream<Class<?>> modules = Stream.of(TaskFileConverter.class, com.google.gson.Gson.class,
+                javafx.beans.Observable.class, javafx.scene.Node.class, javafx.scene.control.Control.class,
+                javafx.fxml.FXMLLoader.class);
+        if (withH2) modules = Stream.concat(modules, Stream.of(org.h2.Driver.class));
+        Path log = dir.resolve("converter.log");
+        Process process = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "--module-path=" + modules.map(JdbcTaskRepositoryTest::location).collect(Collectors.joining(File.pathSeparator)),
+                "-m", "com.example.todoappjavafx/" + TaskFileConverter.class.getName(),
+                json.toString(), JdbcTaskRepository.h2Url(dir.resolve("tasks").toString()))
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        if (!process.waitFor(60, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new AssertionError("TaskFileConverter did not finish");
+        }
+        return new Run(process.exitValue(), Files.readString(log));
+    }
+
+    /** The jar or directory the class was loaded from in this test run. */
+    private static String location(Class<?> type) {
+        try {
+            return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.todoappjavafx.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static com.example.todoappjavafx.TestTasks.task;
+import static com.example.todoappjavafx.TestTasks.titles;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JournalTaskRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private Path snapshot() {
+        return dir.resolve("tasks.json");
+    }
+
+    private Path journal() {
+        return dir.resolve("tasks.json.journal");
+    }
+
+    private JournalTaskRepository open() {
+        return new JournalTaskRepository(snapshot().toString(), Durability.NONE);
+    }
+
+    @Test
+    void replaysEditsAfterReopen() {
+        try (JournalTaskRepository repository = open()) {
+            repository.save(task("1", "one"));
+            repository.saveAll(List.of(task("2", "two"), task("3", "three")));
+            repository.update(task("1", "one again"));
+            repository.delete("2");
+        }
+        try (JournalTaskRepository repository = open()) {
+            assertEquals(List.of("one again", "three"), titles(repository.findAll()));
+        }
+    }
+
+    @Test
+    void cutsOffTornTail() throws IOException {
+        try (JournalTaskRepository repository = open()) {
+            repository.save(task("1", "one"));
+            repository.save(task("2", "two"));
+        }
+        long intact = Files.size(journal());
+        Files.writeString(journal(), "{\"op\":\"put\",\"task\":{\"id\":\"3\",\"ti", StandardOpenOption.APPEND);
+
+        try (JournalTaskRepository repository = open()) {
+            assertEquals(List.of("one", "two"), titles(repository.findAll()));
+            assertEquals(intact, Files.size(journal()));
+            repository.save(task("3", "three"));
+        }
+        try (JournalTaskRepository repository = open()) {
+            assertEquals(List.of("one", "two", "three"), titles(repository.findAll()));
+        }
+    }
+
+    @Test
+    void dropsUnparsableLastRecord() throws IOException {
+        try (JournalTaskRepository repository = open()) {
+            repository.save(task("1", "one"));
+        }
+        Files.writeString(journal(), "not json at all\n", StandardOpenOption.APPEND);
+
+        try (JournalTaskRepository repository = open()) {
+            assertEquals(List.of("one"), titles(repository.findAll()));
+        }
+    }
+
+    @Test
+    void refusesToOpenWithCorruptRecordInTheMiddle() throws IOException {
+        try (JournalTaskRepository repository = open()) {
+            repository.save(task("1", "one"));
+        }
+        Files.writeString(journal(), "not json at all\n", StandardOpenOption.APPEND);
+        try (JournalTaskRepository repository = new JournalTaskRepository(
+                dir.resolve("other.json").toString(), Durability.NONE)) {
+            repository.save(task("2", "two"));
+        }
+        Files.write(journal(), Files.readAllBytes(dir.resolve("other.json.journal")), StandardOpenOption.APPEND);
+        byte[] before = Files.readAllBytes(journal());
+
+        RuntimeException e = assertThrows(RuntimeException.class, this::open);
+        assertTrue(e.getCause() instanceof IOException);
+        assertArrayEquals(before, Files.readAllBytes(journal()), "the journal must be left untouched");
+    }
+
+    @Test
+    void compactionKeepsEveryTask() throws IOException {
+        try (JournalTaskRepository repository = open()) {
+            for (int i = 0; i < 50; i++) {
+                repository.save(task(String.valueOf(i), "task " + i));
+            }
+            repository.compact();
+            assertEquals(0, Files.size(journal()));
+            repository.delete("0");
+        }
+        try (JournalTaskRepository repository = open()) {
+            assertEquals(49, repository.findAll().size());
+            assertEquals("task 1", repository.findAll().getFirst().getTitle());
+        }
+        assertTrue(Files.readString(snapshot(), StandardCharsets.UTF_8).contains("task 0"));
+    }
+
+    @Test
+    void backgroundCompactionFinishesBeforeClose() {
+        try (JournalTaskRepository repository = new JournalTaskRepository(
+                snapshot().toString(), Durability.NONE, 10, 1.0)) {
+            for (int i = 0; i < 200; i++) {
+                repository.save(task("1", "edit " + i));
+            }
+        }
+        try (JournalTaskRepository repository = open()) {
+            assertEquals(List.of("edit 199"), titles(repository.findAll()));
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.todoappjavafx.repository;
+
+import com.example.todoappjavafx.TestTasks;
+import com.example.todoappjavafx.model.Priority;
+import com.example.todoappjavafx.model.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.todoappjavafx.TestTasks.titles;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedTaskRepositoryTest {
+
+    // Slot 0 starts right after the 32-byte header; its text length is at offset 32 within the slot
+    private static final int SLOT_0_STATE = 32;
+    private static final int SLOT_0_TEXT_LENGTH = 32 + 32;
+
+    @TempDir
+    Path dir;
+
+    private String base() {
+        return dir.resolve("tasks").toString();
+    }
+
+    private MappedTaskRepository open() {
+        return new MappedTaskRepository(base(), Durability.NONE);
+    }
+
+    private static Task task(String title) {
+        return TestTasks.task(UUID.randomUUID().toString(), title, Priority.HIGH);
+    }
+
+    @Test
+    void roundTripsAcrossReopen() throws IOException {
+        Task first = task("first");
+        Task second = task("second");
+        try (MappedTaskRepository repository = open()) {
+            repository.saveAll(List.of(first, second));
+            first.setCompleted(true);
+            first.setPriority(Priority.LOW);
+            repository.update(first);
+            second.setTitle("second, renamed");
+            second.setDescription("about second");
+            repository.update(second);
+        }
+        try (MappedTaskRepository repository = open()) {
+            Task reread = repository.findById(first.getId()).orElseThrow();
+            assertTrue(reread.isCompleted());
+            assertEquals(Priority.LOW, reread.getPriority());
+            assertEquals(TestTasks.DUE, reread.getDueDate());
+            assertEquals("second, renamed", repository.findById(second.getId()).orElseThrow().getTitle());
+            assertEquals("about second", repository.findById(second.getId()).orElseThrow().getDescription());
+        }
+    }
+
+    @Test
+    void dropsUncommittedHeapTail() throws IOException {
+        Task task = task("kept");
+        try (MappedTaskRepository repository = open()) {
+            repository.save(task);
+        }
+        Path heap = Path.of(base() + ".heap");
+        long committed = Files.size(heap);
+        Files.write(heap, new byte[]{1, 2, 3, 4, 5}, StandardOpenOption.APPEND);
+
+        try (MappedTaskRepository repository = open()) {
+            assertEquals(committed, Files.size(heap));
+            assertEquals("kept", repository.findById(task.getId()).orElseThrow().getTitle());
+        }
+    }
+
+    @Test
+    void rejectsSlotPointingPastTheHeap() throws IOException {
+        try (MappedTaskRepository repository = open()) {
+            repository.save(task("damaged"));
+        }
+        try (FileChannel slots = FileChannel.open(Path.of(base() + ".slots"), StandardOpenOption.WRITE)) {
+            slots.write(ByteBuffer.allocate(4).putInt(0, Integer.MAX_VALUE), SLOT_0_TEXT_LENGTH);
+        }
+
+        RuntimeException e = assertThrows(RuntimeException.class, this::open);
+        assertTrue(e.getCause() instanceof IOException);
+    }
+
+    @Test
+    void insertWithoutItsStateByteIsNotLoaded() throws IOException {
+        try (MappedTaskRepository repository = open()) {
+            repository.save(task("torn"));
+        }
+        // A crash before the state byte reached the disk leaves the complete slot marked free
+        try (FileChannel slots = FileChannel.open(Path.of(base() + ".slots"), StandardOpenOption.WRITE)) {
+            slots.write(ByteBuffer.wrap(new byte[]{0}), SLOT_0_STATE);
+        }
+
+        try (MappedTaskRepository repository = open()) {
+            assertTrue(repository.findAll().isEmpty());
+            repository.save(task("after"));
+        }
+        try (MappedTaskRepository repository = open()) {
+            assertEquals(List.of("after"), titles(repository.findAll()));
+        }
+    }
+
+    @Test
+    void reusesSlotsOfDeletedTasks() throws IOException {
+        try (MappedTaskRepository repository = open()) {
+            Task doomed = task("doomed");
+            repository.save(doomed);
+            repository.delete(doomed.getId());
+            repository.save(task("reuses the slot"));
+        }
+        try (MappedTaskRepository repository = open()) {
+            assertEquals(List.of("reuses the slot"), titles(repository.findAll()));
+        }
+    }
+
+    @Test
+    void compactsGarbageOnOpen() throws IOException {
+        Task task = task("v0");
+        String longText = "x".repeat(64 * 1024);
+        try (MappedTaskRepository repository = open()) {
+            repository.save(task);
+            for (int i = 1; i <= 40; i++) {
+                task.setTitle("v" + i);
+                task.setDescription(longText + i);
+                repository.update(task);
+            }
+        }
+        Path oldHeap = Path.of(base() + ".heap");
+        assertTrue(Files.size(oldHeap) > 2 * 1024 * 1024);
+
+        try (MappedTaskRepository repository = open()) {
+            assertFalse(Files.exists(oldHeap), "the old heap is deleted once the new slots are in place");
+            Path newHeap = Path.of(base() + ".1.heap");
+            assertTrue(Files.size(newHeap) < 70 * 1024);
+            Task reread = repository.findById(task.getId()).orElseThrow();
+            assertEquals("v40", reread.getTitle());
+            assertEquals(longText + 40, reread.getDescription());
+            task.setTitle("after compaction");
+            repository.update(task);
+        }
+        try (MappedTaskRepository repository = open()) {
+            assertEquals("after compaction", repository.findById(task.getId()).orElseThrow().getTitle());
+        }
+    }
+}
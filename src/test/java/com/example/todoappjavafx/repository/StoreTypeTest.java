@@ -0,0 +1,99 @@
+package com.example.todoappjavafx.repository;
+
+import com.example.todoappjavafx.model.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.example.todoappjavafx.TestTasks.titles;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StoreTypeTest {
+
+    private static final String TASKS = """
+            [{"id":"6f1c1a52-3a4e-4c43-9a43-0d0f5b6f2d11","title":"Imported","description":"","priority":"HIGH","completed":false},
+             {"id":"1b9d6bcd-bbfd-4b2d-9b5d-ab8dfbbd4bed","title":"Also imported","description":"","priority":"LOW","completed":true}]
+            """;
+
+    @TempDir
+    Path dir;
+
+    private Path json() {
+        return dir.resolve("tasks.json");
+    }
+
+    private List<String> filesIn() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private static void close(Repository<Task> repository) throws Exception {
+        if (repository instanceof AutoCloseable closeable) closeable.close();
+    }
+
+    private void failedImportLeavesNothingAndIsRetried(StoreType type) throws Exception {
+        Files.writeString(json(), TASKS.replace("]", "")); // Cut off mid-array
+        assertThrows(RuntimeException.class, () -> type.open(json().toString()));
+        assertEquals(List.of("tasks.json"), filesIn());
+
+        Files.writeString(json(), TASKS);
+        Repository<Task> repository = type.open(json().toString());
+        try {
+            assertEquals(List.of("Imported", "Also imported"), titles(repository.findAll()));
+        } finally {
+            close(repository);
+        }
+        assertTrue(filesIn().stream().noneMatch(name -> name.contains(".import")));
+    }
+
+    @Test
+    void binaryImportIsRetriedAfterFailure() throws Exception {
+        failedImportLeavesNothingAndIsRetried(StoreType.BINARY);
+    }
+
+    @Test
+    void mappedImportIsRetriedAfterFailure() throws Exception {
+        failedImportLeavesNothingAndIsRetried(StoreType.MAPPED);
+    }
+
+    @Test
+    void sqlImportIsRetriedAfterFailure() throws Exception {
+        failedImportLeavesNothingAndIsRetried(StoreType.SQL);
+    }
+
+    @Test
+    void importRunsOnlyOnce() throws Exception {
+        Files.writeString(json(), TASKS);
+        Repository<Task> repository = StoreType.MAPPED.open(json().toString());
+        repository.delete(repository.findAll().getFirst().getId());
+        close(repository);
+
+        repository = StoreType.MAPPED.open(json().toString());
+        try {
+            assertEquals(List.of("Also imported"), titles(repository.findAll()));
+        } finally {
+            close(repository);
+        }
+    }
+
+    @Test
+    void leftoversOfAnInterruptedImportAreDiscarded() throws Exception {
+        Files.writeString(json(), TASKS);
+        Files.writeString(dir.resolve("tasks.import.heap"), "half an import");
+        Repository<Task> repository = StoreType.MAPPED.open(json().toString());
+        try {
+            assertEquals(2, repository.findAll().size());
+        } finally {
+            close(repository);
+        }
+        assertEquals(List.of("tasks.heap", "tasks.json", "tasks.slots"), filesIn());
+    }
+}
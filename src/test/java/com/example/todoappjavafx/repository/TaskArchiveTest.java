@@ -0,0 +1,70 @@
+package com.example.todoappjavafx.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static com.example.todoappjavafx.TestTasks.done;
+import static com.example.todoappjavafx.TestTasks.titles;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskArchiveTest {
+
+    @TempDir
+    Path dir;
+
+    private Path file() {
+        return dir.resolve("tasks.archive");
+    }
+
+    private TaskArchive open() {
+        return new TaskArchive(file(), Durability.NONE);
+    }
+
+    @Test
+    void appendsWithoutRewritingEarlierBatches() throws IOException {
+        TaskArchive archive = open();
+        archive.append(List.of(done("a", "first"), done("b", "second")));
+        byte[] before = Files.readAllBytes(file());
+        archive.append(List.of(done("c", "third")));
+        byte[] after = Files.readAllBytes(file());
+
+        // Only the header and the new member differ
+        assertTrue(after.length > before.length);
+        for (int i = 30; i < before.length; i++) assertEquals(before[i], after[i]);
+
+        TaskArchive reopened = open();
+        assertEquals(3, reopened.count());
+        assertEquals(List.of("first", "second", "third"), titles(reopened.loadAll()));
+    }
+
+    @Test
+    void reappendedTasksAreCountedOnceAndKeepTheLatestCopy() {
+        TaskArchive archive = open();
+        archive.append(List.of(done("a", "first")));
+        archive.append(List.of(done("b", "second"), done("c", "third")));
+        // An interrupted run left them in the store, so the next run archives them again
+        archive.append(List.of(done("b", "second, edited"), done("c", "third")));
+
+        assertEquals(3, open().count());
+        assertEquals(List.of("first", "second, edited", "third"), titles(open().loadAll()));
+    }
+
+    @Test
+    void tornAppendIsIgnoredAndOverwritten() throws IOException {
+        open().append(List.of(done("a", "first")));
+        Files.write(file(), new byte[]{0x1f, (byte) 0x8b, 8, 0, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        TaskArchive archive = open();
+        assertEquals(List.of("first"), titles(archive.loadAll()));
+        archive.append(List.of(done("b", "second")));
+        assertEquals(2, open().count());
+        assertEquals(List.of("first", "second"), titles(open().loadAll()));
+    }
+}
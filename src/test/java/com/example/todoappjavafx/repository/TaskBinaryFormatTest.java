@@ -0,0 +1,136 @@
+package com.example.todoappjavafx.repository;
+
+import com.example.todoappjavafx.model.Priority;
+import com.example.todoappjavafx.model.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TaskBinaryFormatTest {
+
+    @TempDir
+    Path dir;
+
+    private Path write(List<Task> tasks) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TaskBinaryFormat.write(out, tasks);
+        Path file = dir.resolve("tasks.bin");
+        Files.write(file, out.toByteArray());
+        return file;
+    }
+
+    private static List<Task> read(Path file) throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        TaskBinaryFormat.forEach(file, tasks::add);
+        return tasks;
+    }
+
+    private static List<Task> sample() {
+        return List.of(
+                new Task(UUID.randomUUID().toString(), "Buy milk", "2 litres", Priority.HIGH, LocalDate.of(2025, 3, 1), true),
+                new Task("legacy-id", "Ünïcödé ✔", null, null, null, false),
+                new Task(null, null, "", Priority.LOW, LocalDate.of(1999, 12, 31), false));
+    }
+
+    @Test
+    void roundTripsEveryField() throws IOException {
+        List<Task> tasks = sample();
+        List<Task> read = read(write(tasks));
+
+        assertEquals(tasks.size(), read.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Task expected = tasks.get(i);
+            Task actual = read.get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getTitle(), actual.getTitle());
+            assertEquals(expected.getDescription(), actual.getDescription());
+            assertEquals(expected.getPriority(), actual.getPriority());
+            assertEquals(expected.getDueDate(), actual.getDueDate());
+            assertEquals(expected.isCompleted(), actual.isCompleted());
+        }
+    }
+
+    @Test
+    void rejectsTornTail() throws IOException {
+        Path file = write(sample());
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        assertThrows(EOFException.class, () -> read(file));
+    }
+
+    @Test
+    void rejectsHugeRecordLengthWithoutAllocating() throws IOException {
+        Path file = write(sample());
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).putInt(TaskBinaryFormat.HEADER_SIZE, Integer.MAX_VALUE);
+        Files.write(file, bytes);
+
+        assertThrows(IOException.class, () -> read(file));
+    }
+
+    @Test
+    void rejectsStringLengthPastTheRecord() throws IOException {
+        Path file = write(List.of(new Task("legacy-id", "title", null, Priority.LOW, null, false)));
+        byte[] bytes = Files.readAllBytes(file);
+        // Header, record length, flags, priority; then the id's string length
+        ByteBuffer.wrap(bytes).putInt(TaskBinaryFormat.HEADER_SIZE + 4 + 2, 1_000);
+        Files.write(file, bytes);
+
+        IOException e = assertThrows(IOException.class, () -> read(file));
+        assertEquals("Corrupt string length 1000", e.getMessage());
+    }
+
+    @Test
+    void rejectsNegativePriorityOtherThanNone() throws IOException {
+        Path file = write(List.of(new Task("legacy-id", "title", null, Priority.LOW, null, false)));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[TaskBinaryFormat.HEADER_SIZE + 4 + 1] = -7; // Header, record length, flags; then the priority
+        Files.write(file, bytes);
+
+        IOException e = assertThrows(IOException.class, () -> read(file));
+        assertEquals("Corrupt record: unknown priority -7", e.getMessage());
+    }
+
+    @Test
+    void rejectsFieldsThatOverrunTheRecord() throws IOException {
+        Path file = write(List.of(new Task("legacy-id", "title", null, Priority.LOW, null, false),
+                new Task("next", "next", null, Priority.LOW, null, false)));
+        byte[] bytes = Files.readAllBytes(file);
+        // Claim a UUID id (16 bytes) on a record that is shorter than that would need
+        int flags = TaskBinaryFormat.HEADER_SIZE + 4;
+        bytes[flags] |= 1 << 1;
+        Files.write(file, bytes);
+
+        assertThrows(IOException.class, () -> read(file));
+    }
+
+    @Test
+    void damagedFileFallsBackToBackup() throws IOException {
+        Path file = dir.resolve("tasks.bin");
+        BinaryTaskRepository repository = new BinaryTaskRepository(file.toString(), Durability.NONE);
+        repository.save(new Task("1", "first", null, Priority.LOW, null, false));
+        repository.save(new Task("2", "second", null, Priority.LOW, null, false)); // Keeps the first save as backup
+
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).putInt(TaskBinaryFormat.HEADER_SIZE, 0x7fffffff);
+        Files.write(file, bytes);
+
+        BinaryTaskRepository reopened = new BinaryTaskRepository(file.toString(), Durability.NONE);
+        assertEquals(List.of("first"), reopened.findAll().stream().map(Task::getTitle).toList());
+    }
+}
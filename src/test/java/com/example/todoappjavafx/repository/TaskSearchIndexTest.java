@@ -0,0 +1,149 @@
+package com.example.todoappjavafx.repository;
+
+import com.example.todoappjavafx.TestTasks;
+import com.example.todoappjavafx.model.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskSearchIndexTest {
+
+    @TempDir
+    Path dir;
+
+    private Path file() {
+        return dir.resolve("tasks.search");
+    }
+
+    private static Task task(String id, String title, String description) {
+        Task task = TestTasks.task(id, title);
+        task.setDescription(description);
+        return task;
+    }
+
+    private static TaskSearchIndex index(Task... tasks) {
+        TaskSearchIndex index = new TaskSearchIndex();
+        for (Task task : tasks) index.put(task);
+        return index;
+    }
+
+    @Test
+    void termsMatchTheStartOfWords() {
+        TaskSearchIndex index = index(task("1", "Buy milk", "at the shop"), task("2", "Task list", ""));
+
+        assertEquals(List.of("1"), index.search("mi"));
+        assertEquals(List.of("1"), index.search("BUY"));
+        assertEquals(List.of("1"), index.search("sho"));
+        assertEquals(List.of(), index.search("ilk"));
+        assertEquals(List.of(), index.search("ask"));
+        assertEquals(List.of(), index.search("  !! "));
+    }
+
+    @Test
+    void everyTermMustMatch() {
+        TaskSearchIndex index = index(
+                task("1", "Buy milk", ""),
+                task("2", "Buy bread", ""),
+                task("3", "Milk the cow", "then buy a bucket"));
+
+        assertEquals(Set.of("1", "3"), Set.copyOf(index.search("buy mi")));
+        assertEquals(List.of("2"), index.search("bread buy"));
+        assertEquals(List.of(), index.search("bread milk"));
+    }
+
+    @Test
+    void ranksTitlesAboveDescriptionsAndWholeWordsAbovePrefixes() {
+        TaskSearchIndex index = index(
+                task("description", "Errands", "milk"),
+                task("prefix", "Milkshake", ""),
+                task("title", "Milk", ""),
+                task("twice", "Milk", "more milk"));
+
+        assertEquals(List.of("twice", "title", "prefix", "description"), index.search("milk"));
+    }
+
+    @Test
+    void editsAndDeletesUpdateTheIndex() {
+        Task task = task("1", "Buy milk", "");
+        TaskSearchIndex index = index(task, task("2", "Walk the dog", ""));
+
+        task.setTitle("Buy bread");
+        index.put(task);
+        assertEquals(List.of(), index.search("milk"));
+        assertEquals(List.of("1"), index.search("bread"));
+
+        index.remove("2");
+        assertEquals(List.of(), index.search("dog"));
+        assertEquals(1, index.size());
+
+        index.retainAll(Set.of());
+        assertEquals(List.of(), index.search("bread"));
+    }
+
+    @Test
+    void reindexesEditsWhoseStringHashesCollide() {
+        Task task = task("1", "Aa", "");
+        TaskSearchIndex index = index(task);
+
+        task.setTitle("BB"); // "Aa".hashCode() == "BB".hashCode()
+        index.put(task);
+
+        assertEquals(List.of("1"), index.search("bb"));
+        assertEquals(List.of(), index.search("aa"));
+    }
+
+    @Test
+    void reloadsSavedIndexAndCatchesUpWithLaterEdits() throws IOException {
+        Task edited = task("1", "Buy milk", "");
+        TaskSearchIndex saved = TaskSearchIndex.open(file());
+        saved.put(edited);
+        saved.put(task("2", "Walk the dog", ""));
+        saved.put(task("3", "Call mum", ""));
+        saved.save();
+
+        TaskSearchIndex reloaded = TaskSearchIndex.open(file());
+        assertEquals(3, reloaded.size());
+        assertEquals(List.of("2"), reloaded.search("do"));
+
+        // The tasks changed after the index was saved: one edited, one deleted
+        edited.setTitle("Buy bread");
+        reloaded.put(edited);
+        reloaded.put(task("2", "Walk the dog", ""));
+        reloaded.retainAll(Set.of("1", "2"));
+        assertEquals(List.of("1"), reloaded.search("bread"));
+        assertEquals(List.of(), reloaded.search("milk"));
+        assertEquals(List.of(), reloaded.search("mum"));
+        reloaded.save();
+
+        assertEquals(List.of("1"), TaskSearchIndex.open(file()).search("bread"));
+    }
+
+    @Test
+    void unreadableIndexStartsOverEmpty() throws IOException {
+        TaskSearchIndex saved = TaskSearchIndex.open(file());
+        saved.put(task("1", "Buy milk", ""));
+        saved.save();
+        byte[] bytes = Files.readAllBytes(file());
+
+        Files.write(file(), Arrays.copyOf(bytes, bytes.length - 5));
+        assertEquals(0, TaskSearchIndex.open(file()).size());
+
+        byte[] hugeCount = bytes.clone();
+        ByteBuffer.wrap(hugeCount).putInt(6, Integer.MAX_VALUE); // The dictionary size, after magic and version
+        Files.write(file(), hugeCount);
+        TaskSearchIndex rebuilt = TaskSearchIndex.open(file());
+        assertEquals(0, rebuilt.size());
+
+        rebuilt.put(task("1", "Buy milk", ""));
+        assertEquals(List.of("1"), rebuilt.search("milk"));
+    }
+}
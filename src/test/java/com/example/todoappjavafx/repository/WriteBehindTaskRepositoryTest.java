@@ -0,0 +1,135 @@
+package com.example.todoappjavafx.repository;
+
+import com.example.todoappjavafx.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.todoappjavafx.TestTasks.task;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteBehindTaskRepositoryTest {
+
+    /** In-memory store that fails its writes while {@code failing} is set. */
+    private static final class FlakyRepository implements Repository<Task> {
+        final Map<String, Task> tasks = new LinkedHashMap<>();
+        volatile boolean failing;
+
+        private void check() {
+            if (failing) throw new RuntimeException("Disk full");
+        }
+
+        @Override
+        public synchronized void save(Task task) {
+            check();
+            tasks.put(task.getId(), task);
+        }
+
+        @Override
+        public synchronized void update(Task task) {
+            check();
+            tasks.replace(task.getId(), task);
+        }
+
+        @Override
+        public synchronized void delete(String id) {
+            check();
+            tasks.remove(id);
+        }
+
+        @Override
+        public synchronized Optional<Task> findById(String id) {
+            return Optional.ofNullable(tasks.get(id));
+        }
+
+        @Override
+        public synchronized List<Task> findAll() {
+            return new ArrayList<>(tasks.values());
+        }
+    }
+
+    @Test
+    void queuedWritesAreVisibleAndFlushed() throws Exception {
+        FlakyRepository store = new FlakyRepository();
+        try (WriteBehindTaskRepository repository = new WriteBehindTaskRepository(store, Duration.ofHours(1), 1_000)) {
+            repository.save(task("1", "one"));
+            repository.update(task("1", "one again"));
+            repository.save(task("2", "two"));
+            repository.delete("2");
+            assertTrue(store.tasks.isEmpty());
+            assertEquals("one again", repository.findById("1").orElseThrow().getTitle());
+            assertEquals(1, repository.findAll().size());
+
+            repository.flush();
+            assertEquals(List.of("1"), List.copyOf(store.tasks.keySet()));
+            assertEquals("one again", store.tasks.get("1").getTitle());
+        }
+    }
+
+    @Test
+    void failedFlushIsReportedAndRetried() throws Exception {
+        FlakyRepository store = new FlakyRepository();
+        store.failing = true;
+        CountDownLatch reported = new CountDownLatch(1);
+        AtomicInteger reports = new AtomicInteger();
+        try (WriteBehindTaskRepository repository = new WriteBehindTaskRepository(store, Duration.ofMillis(1), 1_000)) {
+            repository.setFailureHandler(error -> {
+                reports.incrementAndGet();
+                reported.countDown();
+            });
+            repository.save(task("1", "one"));
+            assertTrue(reported.await(5, TimeUnit.SECONDS));
+            assertEquals("one", repository.findById("1").orElseThrow().getTitle(), "still queued after the failure");
+
+            repository.update(task("1", "one again")); // Must stay an insert: the store never saw the task
+            store.failing = false;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (store.tasks.isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals("one again", store.tasks.get("1").getTitle());
+            assertEquals(1, reports.get(), "one report per run of failures");
+        }
+    }
+
+    @Test
+    void fullQueueFailsTheCaller() throws Exception {
+        FlakyRepository store = new FlakyRepository();
+        store.failing = true;
+        WriteBehindTaskRepository repository = new WriteBehindTaskRepository(store, Duration.ofHours(1), 2);
+        repository.save(task("1", "one"));
+        assertThrows(RuntimeException.class, () -> repository.save(task("2", "two")));
+        assertEquals(2, repository.findAll().size());
+
+        store.failing = false;
+        repository.close();
+        assertEquals(2, store.tasks.size());
+    }
+
+    @Test
+    void backgroundFailuresAfterAForegroundFailureAreReported() throws Exception {
+        FlakyRepository store = new FlakyRepository();
+        store.failing = true;
+        CountDownLatch reported = new CountDownLatch(1);
+        try (WriteBehindTaskRepository repository = new WriteBehindTaskRepository(store, Duration.ofHours(1), 2)) {
+            repository.setFailureHandler(error -> reported.countDown());
+            repository.save(task("1", "one"));
+            // The full queue is flushed by this caller, which gets the first failure itself
+            assertThrows(RuntimeException.class, () -> repository.save(task("2", "two")));
+            // The retries that follow run in the background and have only the handler to tell
+            assertTrue(reported.await(5, TimeUnit.SECONDS));
+            store.failing = false;
+        }
+        assertEquals(2, store.tasks.size());
+    }
+}
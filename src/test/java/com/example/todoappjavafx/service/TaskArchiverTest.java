@@ -0,0 +1,66 @@
+package com.example.todoappjavafx.service;
+
+import com.example.todoappjavafx.TestTasks;
+import com.example.todoappjavafx.model.Task;
+import com.example.todoappjavafx.repository.CompletionLedger;
+import com.example.todoappjavafx.repository.Durability;
+import com.example.todoappjavafx.repository.JsonTaskRepository;
+import com.example.todoappjavafx.repository.TaskArchive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.example.todoappjavafx.TestTasks.done;
+import static com.example.todoappjavafx.TestTasks.ids;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskArchiverTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+
+    @TempDir
+    Path dir;
+
+    private static Task task(String id, LocalDate due, boolean completed) {
+        Task task = completed ? done(id) : TestTasks.task(id);
+        task.setDueDate(due);
+        return task;
+    }
+
+    private TaskService service() {
+        TaskService service = new TaskService(new JsonTaskRepository(dir.resolve("tasks.json").toString(), Durability.NONE));
+        service.setArchive(new TaskArchive(dir.resolve("tasks.archive"), Durability.NONE));
+        return service;
+    }
+
+    private CompletionLedger ledger() {
+        return new CompletionLedger(dir.resolve("tasks.completed"), Durability.NONE);
+    }
+
+    @Test
+    void firstRunDatesOldCompletionsFromTheirDueDate() {
+        TaskService service = service();
+        service.addTasks(List.of(
+                task("long-done", TODAY.minusDays(90), true),
+                task("done-due-later", TODAY.plusDays(5), true),
+                task("open", TODAY.minusDays(90), false)));
+
+        assertEquals(1, new TaskArchiver(service, ledger(), 30).run(TODAY));
+        assertEquals(List.of("long-done"), ids(service.getArchivedTasks()));
+        assertEquals(TODAY, ledger().completedOn("done-due-later"));
+    }
+
+    @Test
+    void laterRunsDateNewCompletionsFromToday() {
+        TaskService service = service();
+        service.addTask(task("done", TODAY.plusDays(5), true));
+        new TaskArchiver(service, ledger(), 30).run(TODAY);
+
+        service.addTask(task("found-done", TODAY.minusDays(90), true));
+        assertEquals(0, new TaskArchiver(service, ledger(), 30).run(TODAY));
+        assertEquals(TODAY, ledger().completedOn("found-done"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.todoappjavafx.service;
+
+import com.example.todoappjavafx.repository.Durability;
+import com.example.todoappjavafx.repository.IndexedTaskRepository;
+import com.example.todoappjavafx.repository.JsonTaskRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static com.example.todoappjavafx.TestTasks.ids;
+import static com.example.todoappjavafx.TestTasks.task;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private TaskService plain() {
+        return new TaskService(new JsonTaskRepository(dir.resolve("plain.json").toString(), Durability.NONE));
+    }
+
+    private TaskService indexed() {
+        return new TaskService(new IndexedTaskRepository(
+                new JsonTaskRepository(dir.resolve("indexed.json").toString(), Durability.NONE)));
+    }
+
+    @Test
+    void searchMatchesTheSameTasksWithAndWithoutIndexes() {
+        TaskService plain = plain();
+        TaskService indexed = indexed();
+        for (TaskService service : List.of(plain, indexed)) {
+            service.addTasks(List.of(task("1", "Buy milk"), task("2", "Task list"), task("3", "Milk the cow, then buy")));
+        }
+
+        for (String query : List.of("ask", "task", "MI", "buy mi", "ilk", "cow, milk", "!!", " ")) {
+            assertEquals(Set.copyOf(ids(indexed.searchTasks(query))), Set.copyOf(ids(plain.searchTasks(query))), query);
+        }
+        assertEquals(List.of(), plain.searchTasks("ask"));
+        assertEquals(List.of("1", "3"), ids(plain.searchTasks("buy mi")));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.todoappjavafx.workspace;
+
+import com.example.todoappjavafx.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static com.example.todoappjavafx.TestTasks.task;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class WorkspaceManagerTest {
+
+    @TempDir
+    Path dir;
+
+    private static void addTasks(TaskService service, int count) {
+        for (int i = 0; i < count; i++) {
+            service.addTask(task(UUID.randomUUID().toString()));
+        }
+    }
+
+    @Test
+    void budgetLeavesOutTheActiveList() throws Exception {
+        try (WorkspaceManager workspaces = new WorkspaceManager(dir, 3)) {
+            TaskService first = workspaces.openActive();
+            addTasks(first, 3);
+            workspaces.create("Second");
+
+            TaskService second = workspaces.open("Second");
+            addTasks(second, 2); // Both lists together are over the budget, but the active one does not count
+            assertSame(first, workspaces.open("Tasks"));
+            assertSame(second, workspaces.open("Second"));
+        }
+    }
+
+    @Test
+    void closesLeastRecentlyUsedListsOverBudget() throws Exception {
+        try (WorkspaceManager workspaces = new WorkspaceManager(dir, 2)) {
+            TaskService first = workspaces.openActive();
+            addTasks(first, 3);
+            workspaces.create("Second");
+            workspaces.open("Second");
+
+            TaskService reopened = workspaces.open("Tasks");
+            assertNotSame(first, reopened);
+            assertEquals(3, reopened.countTasks());
+            assertEquals(3, workspaces.summaries().getFirst().taskCount());
+        }
+    }
+}